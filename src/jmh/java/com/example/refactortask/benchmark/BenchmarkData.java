@@ -0,0 +1,93 @@
+package com.example.refactortask.benchmark;
+
+import com.example.refactortask.grpc.ProductResponse;
+import com.example.refactortask.model.dto.ProductDTO;
+import com.example.refactortask.model.entity.Category;
+import com.example.refactortask.model.entity.Product;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Deterministic catalog fixtures shared by the benchmarks, shaped like synced Fake Store products.
+ */
+final class BenchmarkData {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 1, 15, 10, 30);
+    private static final String[] WORDS = {"Classic", "Slim", "Fit", "Cotton", "Wireless", "Portable", "Premium",
+            "Leather", "Backpack", "Jacket", "Monitor", "Ring", "Bracelet", "Drive", "Shirt", "Laptop"};
+
+    private BenchmarkData() {
+    }
+
+    static ProductDTO productDTO(long id) {
+        return ProductDTO.builder()
+                .id(id)
+                .productName(name(id))
+                .description(description(id))
+                .productPrice(BigDecimal.valueOf(100 + id % 90_000, 2))
+                .stock_quantity((int) (id % 50))
+                .categoryId(1 + id % 4)
+                .createdAt(CREATED_AT)
+                .updatedAt(CREATED_AT.plusSeconds(id))
+                .isInStock(id % 50 != 0)
+                .externalId(String.valueOf(id))
+                .rating(1 + (id % 40) / 10.0)
+                .ratingCount((int) (id % 700))
+                .imageUrl("https://fakestoreapi.com/img/" + id + "_t.png")
+                .build();
+    }
+
+    static Product product(long id) {
+        ProductDTO dto = productDTO(id);
+        Category category = new Category();
+        category.setCategoryId(dto.getCategoryId());
+        category.setName("Category " + dto.getCategoryId());
+        return Product.builder()
+                .id(dto.getId())
+                .productName(dto.getProductName())
+                .description(dto.getDescription())
+                .productPrice(dto.getProductPrice())
+                .stock_quantity(dto.getStock_quantity())
+                .category(category)
+                .createdAt(dto.getCreatedAt())
+                .updatedAt(dto.getUpdatedAt())
+                .isInStock(dto.getIsInStock())
+                .externalId(dto.getExternalId())
+                .rating(dto.getRating())
+                .ratingCount(dto.getRatingCount())
+                .imageUrl(dto.getImageUrl())
+                .build();
+    }
+
+    static ProductResponse productResponse(long id) {
+        ProductDTO dto = productDTO(id);
+        return ProductResponse.newBuilder()
+                .setId(dto.getId())
+                .setProductName(dto.getProductName())
+                .setDescription(dto.getDescription())
+                .setProductPrice(dto.getProductPrice().doubleValue())
+                .setStockQuantity(dto.getStock_quantity())
+                .setCategoryId(dto.getCategoryId())
+                .setCreatedAt("2024-01-15 10:30:00")
+                .setUpdatedAt("2024-01-15 10:30:00")
+                .setIsInStock(dto.getIsInStock())
+                .setExternalId(dto.getExternalId())
+                .setRating(dto.getRating())
+                .setRatingCount(dto.getRatingCount())
+                .setImageUrl(dto.getImageUrl())
+                .build();
+    }
+
+    static String name(long id) {
+        return WORDS[(int) (id % WORDS.length)] + " " + WORDS[(int) ((id / WORDS.length) % WORDS.length)] + " " + id;
+    }
+
+    private static String description(long id) {
+        StringBuilder description = new StringBuilder();
+        for (int i = 0; i < 12; i++) {
+            description.append(WORDS[(int) ((id + i * 7) % WORDS.length)].toLowerCase()).append(' ');
+        }
+        return description.toString().trim();
+    }
+}
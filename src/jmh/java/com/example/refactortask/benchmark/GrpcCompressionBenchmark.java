@@ -0,0 +1,143 @@
+package com.example.refactortask.benchmark;
+
+import com.example.refactortask.config.GrpcCallProperties;
+import com.example.refactortask.grpc.GrpcCallSettingsInterceptor;
+import com.example.refactortask.grpc.ListProductsRequest;
+import com.example.refactortask.grpc.ListProductsResponse;
+import com.example.refactortask.grpc.ProductRequest;
+import com.example.refactortask.grpc.ProductResponse;
+import com.example.refactortask.grpc.ProductServiceGrpc;
+import io.grpc.ManagedChannel;
+import io.grpc.Metadata;
+import io.grpc.Server;
+import io.grpc.ServerInterceptors;
+import io.grpc.ServerStreamTracer;
+import io.grpc.netty.shaded.io.grpc.netty.NettyChannelBuilder;
+import io.grpc.netty.shaded.io.grpc.netty.NettyServerBuilder;
+import io.grpc.stub.StreamObserver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Latency of GetProduct and ListProducts over a real Netty connection with and without response compression,
+ * applied through {@link GrpcCallSettingsInterceptor}. Bytes on the wire per call are printed during setup,
+ * measured with a server stream tracer after compression.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GrpcCompressionBenchmark {
+
+    @Param({"identity", "gzip"})
+    public String compression;
+
+    @Param({"100", "10000"})
+    public int listSize;
+
+    private final AtomicLong wireBytes = new AtomicLong();
+    private Server server;
+    private ManagedChannel channel;
+    private ProductServiceGrpc.ProductServiceBlockingStub stub;
+
+    @Setup
+    public void setup() throws IOException {
+        List<ProductResponse> products = new ArrayList<>(listSize);
+        for (int i = 1; i <= listSize; i++) {
+            products.add(BenchmarkData.productResponse(i));
+        }
+
+        GrpcCallProperties properties = new GrpcCallProperties(
+                new GrpcCallProperties.MethodSettings(compression, null, null), Map.of());
+        server = NettyServerBuilder.forPort(0)
+                .addService(ServerInterceptors.intercept(new FixtureProductService(products),
+                        new GrpcCallSettingsInterceptor(properties)))
+                .addStreamTracerFactory(new ServerStreamTracer.Factory() {
+                    @Override
+                    public ServerStreamTracer newServerStreamTracer(String fullMethodName, Metadata headers) {
+                        return new ServerStreamTracer() {
+                            @Override
+                            public void outboundWireSize(long bytes) {
+                                wireBytes.addAndGet(bytes);
+                            }
+                        };
+                    }
+                })
+                .build()
+                .start();
+        channel = NettyChannelBuilder.forAddress("localhost", server.getPort())
+                .usePlaintext()
+                .maxInboundMessageSize(64 * 1024 * 1024)
+                .build();
+        stub = ProductServiceGrpc.newBlockingStub(channel);
+
+        reportWireSize("GetProduct", this::getProduct);
+        reportWireSize("ListProducts", this::listProducts);
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        channel.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        server.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    @Benchmark
+    public ProductResponse getProduct() {
+        return stub.getProduct(ProductRequest.newBuilder().setId(1).build());
+    }
+
+    @Benchmark
+    public ListProductsResponse listProducts() {
+        return stub.listProducts(ListProductsRequest.getDefaultInstance());
+    }
+
+    private void reportWireSize(String method, Supplier<?> call) {
+        wireBytes.set(0);
+        call.get();
+        System.out.printf("%n%s compression=%s listSize=%d: %d bytes on the wire%n",
+                method, compression, listSize, wireBytes.get());
+    }
+
+    private static final class FixtureProductService extends ProductServiceGrpc.ProductServiceImplBase {
+
+        private final ProductResponse product;
+        private final ListProductsResponse list;
+
+        private FixtureProductService(List<ProductResponse> products) {
+            this.product = products.get(0);
+            this.list = ListProductsResponse.newBuilder().addAllProducts(products).build();
+        }
+
+        @Override
+        public void getProduct(ProductRequest request, StreamObserver<ProductResponse> responseObserver) {
+            responseObserver.onNext(product);
+            responseObserver.onCompleted();
+        }
+
+        @Override
+        public void listProducts(ListProductsRequest request, StreamObserver<ListProductsResponse> responseObserver) {
+            responseObserver.onNext(list);
+            responseObserver.onCompleted();
+        }
+    }
+}
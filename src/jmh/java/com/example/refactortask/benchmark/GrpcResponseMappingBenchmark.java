@@ -0,0 +1,117 @@
+package com.example.refactortask.benchmark;
+
+import com.example.refactortask.grpc.ListProductsRequest;
+import com.example.refactortask.grpc.ProductRequest;
+import com.example.refactortask.grpc.ProductResponse;
+import com.example.refactortask.grpc.ProductResponseCache;
+import com.example.refactortask.grpc.ProductServiceImpl;
+import com.example.refactortask.model.dto.ProductDTO;
+import com.example.refactortask.service.ProductService;
+import io.grpc.stub.StreamObserver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of turning {@link ProductDTO}s into gRPC {@link ProductResponse}s inside {@link ProductServiceImpl}, i.e.
+ * {@code mapToGrpcResponse}, driven through GetProduct and ListProducts with the product service stubbed out. With
+ * {@code responseCache=disabled} every call builds the message; with {@code enabled} the fixtures are warm in
+ * {@link ProductResponseCache} and calls are cache hits. No serialization or transport is involved.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GrpcResponseMappingBenchmark {
+
+    @Param({"disabled", "enabled"})
+    public String responseCache;
+
+    @Param({"1000"})
+    public int listSize;
+
+    private ProductServiceImpl productServiceImpl;
+    private ProductRequest[] requests;
+    private int next;
+
+    @Setup
+    public void setup() {
+        List<ProductDTO> products = new ArrayList<>(listSize);
+        for (int i = 1; i <= listSize; i++) {
+            products.add(BenchmarkData.productDTO(i));
+        }
+        productServiceImpl = new ProductServiceImpl(new FixtureProductService(products),
+                new ProductResponseCache("enabled".equals(responseCache), listSize));
+
+        requests = new ProductRequest[listSize];
+        for (int i = 0; i < listSize; i++) {
+            requests[i] = ProductRequest.newBuilder().setId(i + 1).build();
+        }
+        // Fill the response cache, if enabled, before measuring
+        productServiceImpl.listProducts(ListProductsRequest.getDefaultInstance(), new BlackholeObserver<>(null));
+    }
+
+    @Benchmark
+    public void getProduct(Blackhole blackhole) {
+        productServiceImpl.getProduct(requests[next++ % listSize], new BlackholeObserver<>(blackhole));
+    }
+
+    @Benchmark
+    public void listProducts(Blackhole blackhole) {
+        productServiceImpl.listProducts(ListProductsRequest.getDefaultInstance(), new BlackholeObserver<>(blackhole));
+    }
+
+    // Serves the fixtures without a database or ProductCache
+    private static final class FixtureProductService extends ProductService {
+
+        private final List<ProductDTO> products;
+
+        private FixtureProductService(List<ProductDTO> products) {
+            this.products = products;
+        }
+
+        @Override
+        public ProductDTO getProductById(Long id) {
+            return products.get((int) (id - 1));
+        }
+
+        @Override
+        public List<ProductDTO> getAllProducts(boolean refresh) {
+            return products;
+        }
+    }
+
+    private record BlackholeObserver<T>(Blackhole blackhole) implements StreamObserver<T> {
+
+        @Override
+        public void onNext(T value) {
+            if (blackhole != null) {
+                blackhole.consume(value);
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            throw new IllegalStateException(t);
+        }
+
+        @Override
+        public void onCompleted() {
+        }
+    }
+}
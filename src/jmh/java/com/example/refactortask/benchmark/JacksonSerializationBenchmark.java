@@ -0,0 +1,89 @@
+package com.example.refactortask.benchmark;
+
+import com.example.refactortask.config.JacksonConfig;
+import com.example.refactortask.model.dto.CategoryDTO;
+import com.example.refactortask.model.dto.ProductDTO;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization cost of a REST product list and a category list with the application's {@link ObjectMapper}
+ * ({@code blackbird}) against the same mapper without the Blackbird module ({@code reflection}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JacksonSerializationBenchmark {
+
+    @Param({"reflection", "blackbird"})
+    public String propertyAccess;
+
+    @Param({"1000"})
+    public int listSize;
+
+    private ObjectWriter productListWriter;
+    private ObjectWriter categoryListWriter;
+    private List<ProductDTO> products;
+    private List<CategoryDTO> categories;
+
+    @Setup
+    public void setup() {
+        ObjectMapper objectMapper = "blackbird".equals(propertyAccess)
+                ? new JacksonConfig().objectMapper()
+                : reflectionObjectMapper();
+        productListWriter = objectMapper.writerFor(new TypeReference<List<ProductDTO>>() {
+        });
+        categoryListWriter = objectMapper.writerFor(new TypeReference<List<CategoryDTO>>() {
+        });
+
+        products = new ArrayList<>(listSize);
+        categories = new ArrayList<>(listSize);
+        for (int i = 1; i <= listSize; i++) {
+            products.add(BenchmarkData.productDTO(i));
+            categories.add(new CategoryDTO((long) i, "Category " + i, "Category number " + i, List.of((long) i)));
+        }
+    }
+
+    @Benchmark
+    public void writeProductList() throws IOException {
+        productListWriter.writeValue(OutputStream.nullOutputStream(), products);
+    }
+
+    @Benchmark
+    public void writeCategoryList() throws IOException {
+        categoryListWriter.writeValue(OutputStream.nullOutputStream(), categories);
+    }
+
+    // JacksonConfig's mapper minus the Blackbird module
+    private static ObjectMapper reflectionObjectMapper() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        objectMapper.setDateFormat(new SimpleDateFormat("yyyy-MM-dd HH:mm:ss"));
+        return objectMapper;
+    }
+}
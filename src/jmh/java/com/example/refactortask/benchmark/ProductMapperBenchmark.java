@@ -0,0 +1,57 @@
+package com.example.refactortask.benchmark;
+
+import com.example.refactortask.mapper.ProductMapper;
+import com.example.refactortask.model.dto.ProductDTO;
+import com.example.refactortask.model.entity.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-product cost of the generated {@link ProductMapper} in both directions. The inputs cycle through a fixed set
+ * of products so the mapper does not see the same instance on every call.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductMapperBenchmark {
+
+    private static final int FIXTURES = 1024;
+
+    private final ProductMapper productMapper = ProductMapper.INSTANCE;
+    private Product[] products;
+    private ProductDTO[] productDTOs;
+    private int next;
+
+    @Setup
+    public void setup() {
+        products = new Product[FIXTURES];
+        productDTOs = new ProductDTO[FIXTURES];
+        for (int i = 0; i < FIXTURES; i++) {
+            products[i] = BenchmarkData.product(i + 1);
+            productDTOs[i] = BenchmarkData.productDTO(i + 1);
+        }
+    }
+
+    @Benchmark
+    public ProductDTO toDto() {
+        return productMapper.toDto(products[next++ & (FIXTURES - 1)]);
+    }
+
+    @Benchmark
+    public Product toEntity() {
+        return productMapper.toEntity(productDTOs[next++ & (FIXTURES - 1)]);
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.refactortask.benchmark;
+
+import com.example.refactortask.service.ExactTitleMatcher;
+import com.example.refactortask.service.MinHashTitleMatcher;
+import com.example.refactortask.service.TitleMatcher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The title matching step of a catalog sync at 1k, 100k and 1M local products, without the database around it.
+ * {@code buildIndex} loads every local title into a fresh matcher, as {@code ProductSyncEngine} does once per run;
+ * {@code matchChunk} looks up one sync chunk of external titles, reported per title. Half of the external titles
+ * equal a local title after normalization, the other half only resemble one.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class SyncMatchingBenchmark {
+
+    private static final int CHUNK_SIZE = 500;
+
+    @Param({"exact", "minhash"})
+    public String strategy;
+
+    @Param({"1000", "100000", "1000000"})
+    public int catalogSize;
+
+    private String[] localTitles;
+    private String[] externalTitles;
+    private TitleMatcher matcher;
+    private int nextChunk;
+
+    @Setup
+    public void setup() {
+        localTitles = new String[catalogSize];
+        externalTitles = new String[catalogSize];
+        for (int i = 0; i < catalogSize; i++) {
+            long id = i + 1;
+            localTitles[i] = BenchmarkData.name(id) + " Backpack, Fits 15 Laptops";
+            externalTitles[i] = i % 2 == 0
+                    ? (BenchmarkData.name(id) + " BACKPACK - Fits 15 Laptops")
+                    : (BenchmarkData.name(id) + " Backpack, Fits 15\" Laptop");
+        }
+        matcher = buildIndex();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = 3)
+    public TitleMatcher buildIndex() {
+        TitleMatcher titleMatcher = "exact".equals(strategy) ? new ExactTitleMatcher() : new MinHashTitleMatcher(0.85);
+        for (int i = 0; i < localTitles.length; i++) {
+            titleMatcher.add(i + 1, localTitles[i]);
+        }
+        return titleMatcher;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CHUNK_SIZE)
+    public void matchChunk(Blackhole blackhole) {
+        int start = nextChunk;
+        for (int i = 0; i < CHUNK_SIZE; i++) {
+            blackhole.consume(matcher.bestMatch(externalTitles[(start + i) % catalogSize]));
+        }
+        nextChunk = (start + CHUNK_SIZE) % catalogSize;
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.refactortask.loadtest;
+
+import com.example.refactortask.model.dto.ExternalProductDTO;
+import com.example.refactortask.model.dto.ProductBatchItemResult;
+import com.example.refactortask.model.dto.ProductDTO;
+import com.example.refactortask.model.entity.Category;
+import com.example.refactortask.repository.CategoryRepository;
+import com.example.refactortask.service.ProductService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.SplittableRandom;
+
+/**
+ * Seeds the database with a deterministic catalog and builds the matching Fake Store payload for
+ * {@link FakeStoreStub}. Products go through {@link ProductService#createProducts}, so seeding uses the same
+ * batched insert path as the API. Every external product corresponds to one seeded product: even ones carry the
+ * exact local name, odd ones a near-identical variant that only matches with
+ * {@code product.sync.matching.strategy=minhash}.
+ */
+final class DatasetGenerator {
+
+    private static final int BATCH_SIZE = 1000;
+    private static final String[] ADJECTIVES = {"Classic", "Slim", "Wireless", "Portable", "Premium", "Leather",
+            "Cotton", "Waterproof", "Compact", "Ergonomic", "Vintage", "Smart"};
+    private static final String[] NOUNS = {"Backpack", "Jacket", "Monitor", "Ring", "Bracelet", "Drive", "Shirt",
+            "Laptop Sleeve", "Keyboard", "Headphones", "Watch", "Lamp"};
+
+    private final ProductService productService;
+    private final CategoryRepository categoryRepository;
+    private final SplittableRandom random;
+
+    DatasetGenerator(ProductService productService, CategoryRepository categoryRepository, long seed) {
+        this.productService = productService;
+        this.categoryRepository = categoryRepository;
+        this.random = new SplittableRandom(seed);
+    }
+
+    record Dataset(long[] productIds, long[] categoryIds, byte[] externalCatalogJson) {
+    }
+
+    Dataset seed(int productCount, int categoryCount) {
+        long[] categoryIds = new long[categoryCount];
+        for (int i = 0; i < categoryCount; i++) {
+            Category category = new Category();
+            category.setName("Load test category " + i);
+            category.setDescription("Seeded by the load test");
+            categoryIds[i] = categoryRepository.save(category).getCategoryId();
+        }
+
+        List<String> names = new ArrayList<>(productCount);
+        long[] productIds = new long[productCount];
+        int created = 0;
+        List<ProductDTO> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < productCount; i++) {
+            ProductDTO product = product(i, categoryIds[i % categoryCount], random);
+            names.add(product.getProductName());
+            batch.add(product);
+            if (batch.size() == BATCH_SIZE || i == productCount - 1) {
+                for (ProductBatchItemResult result : productService.createProducts(batch)) {
+                    productIds[created++] = Objects.requireNonNull(result.id(), result.error());
+                }
+                batch.clear();
+            }
+        }
+        return new Dataset(productIds, categoryIds, externalCatalog(names));
+    }
+
+    /**
+     * One catalog product; also used for the products the load test creates, each with its own random source.
+     */
+    static ProductDTO product(long sequence, long categoryId, SplittableRandom random) {
+        String name = ADJECTIVES[random.nextInt(ADJECTIVES.length)] + " " + NOUNS[random.nextInt(NOUNS.length)]
+                + " for Everyday Use, Model " + sequence;
+        int stock = random.nextInt(100);
+        return ProductDTO.builder()
+                .productName(name)
+                .description("A " + name.toLowerCase() + " seeded for load testing")
+                .productPrice(BigDecimal.valueOf(100 + random.nextInt(100_000), 2))
+                .stock_quantity(stock)
+                .isInStock(stock > 0)
+                .categoryId(categoryId)
+                .build();
+    }
+
+    // Streamed into a byte array so the catalog is never held as a list of DTOs
+    private byte[] externalCatalog(List<String> names) {
+        ObjectMapper objectMapper = new ObjectMapper();
+        ByteArrayOutputStream json = new ByteArrayOutputStream(names.size() * 256);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(json)) {
+            generator.writeStartArray();
+            for (int i = 0; i < names.size(); i++) {
+                String title = i % 2 == 0 ? names.get(i) : "The " + names.get(i);
+                objectMapper.writeValue(generator, new ExternalProductDTO(i + 1, title, 9.99, "External " + title,
+                        "load test", "https://example.com/img/" + (i + 1) + ".png",
+                        new ExternalProductDTO.Rating(1 + random.nextInt(40) / 10.0, random.nextInt(1000))));
+            }
+            generator.writeEndArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return json.toByteArray();
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.refactortask.loadtest;
+
+import com.example.refactortask.grpc.CreateProductRequest;
+import com.example.refactortask.grpc.ListProductsRequest;
+import com.example.refactortask.grpc.ProductRequest;
+import com.example.refactortask.grpc.ProductServiceGrpc;
+import com.example.refactortask.loadtest.LoadTestConfig.Operation;
+import com.example.refactortask.loadtest.LoadTestConfig.Transport;
+import com.example.refactortask.model.dto.ProductDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.grpc.ManagedChannel;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The calls the load test can make, one per operation and transport. Each call gets a per-request key from the
+ * driver's seeded sequence and derives its arguments (which product to read, what to create) from it.
+ * <p>
+ * Sync has no gRPC method, so it is only driven over REST. {@code syncWithFakeApi} only queues a run on the sync
+ * executor; how long the runs themselves took is reported separately from the sync run table.
+ */
+final class Endpoints {
+
+    static final int LIST_PAGE_SIZE = 100;
+
+    @FunctionalInterface
+    interface Call {
+        void execute(long key) throws Exception;
+    }
+
+    record Endpoint(String name, Operation operation, Transport transport, double weight, Call call) {
+    }
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private final ObjectMapper objectMapper;
+    private final String productsUrl;
+    private final ProductServiceGrpc.ProductServiceBlockingStub grpcStub;
+    private final DatasetGenerator.Dataset dataset;
+    private final AtomicLong createdSequence;
+
+    Endpoints(ObjectMapper objectMapper, int httpPort, ManagedChannel channel, DatasetGenerator.Dataset dataset) {
+        this.objectMapper = objectMapper;
+        this.productsUrl = "http://localhost:" + httpPort + "/api/api/products";
+        this.grpcStub = ProductServiceGrpc.newBlockingStub(channel);
+        this.dataset = dataset;
+        this.createdSequence = new AtomicLong(dataset.productIds().length);
+    }
+
+    /**
+     * Endpoints with a positive weight, normalized so the weights sum to 1.
+     */
+    List<Endpoint> forMix(Map<Operation, Integer> mix, Set<Transport> transports) {
+        List<Endpoint> endpoints = new ArrayList<>();
+        mix.forEach((operation, weight) -> {
+            List<Transport> offering = transports.stream()
+                    .filter(transport -> operation != Operation.SYNC || transport == Transport.REST)
+                    .toList();
+            offering.forEach(transport -> endpoints.add(endpoint(operation, transport, (double) weight / offering.size())));
+        });
+        double total = endpoints.stream().mapToDouble(Endpoint::weight).sum();
+        if (total <= 0) {
+            throw new IllegalArgumentException("loadtest.mix selects no endpoint for transports " + transports);
+        }
+        return endpoints.stream()
+                .filter(endpoint -> endpoint.weight() > 0)
+                .map(endpoint -> new Endpoint(endpoint.name(), endpoint.operation(), endpoint.transport(),
+                        endpoint.weight() / total, endpoint.call()))
+                .toList();
+    }
+
+    private Endpoint endpoint(Operation operation, Transport transport, double weight) {
+        String name;
+        Call call;
+        if (transport == Transport.REST) {
+            switch (operation) {
+                case GET -> {
+                    name = "REST GET /products/{id}";
+                    call = key -> send(HttpRequest.newBuilder(URI.create(productsUrl + "/" + productId(key))));
+                }
+                case LIST -> {
+                    name = "REST GET /products?after&limit";
+                    call = key -> send(HttpRequest.newBuilder(URI.create(productsUrl + "?limit=" + LIST_PAGE_SIZE
+                            + "&after=" + productId(key))));
+                }
+                case CREATE -> {
+                    name = "REST POST /products";
+                    call = key -> send(HttpRequest.newBuilder(URI.create(productsUrl))
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(newProduct(key)))));
+                }
+                case SYNC -> {
+                    name = "REST POST /products/sync-with-fake-api";
+                    call = key -> send(HttpRequest.newBuilder(URI.create(productsUrl + "/sync-with-fake-api"))
+                            .POST(HttpRequest.BodyPublishers.noBody()));
+                }
+                default -> throw new IllegalArgumentException("Unsupported operation " + operation);
+            }
+        } else {
+            switch (operation) {
+                case GET -> {
+                    name = "gRPC ProductService/GetProduct";
+                    call = key -> grpcStub.getProduct(ProductRequest.newBuilder().setId(productId(key)).build());
+                }
+                case LIST -> {
+                    name = "gRPC ProductService/ListProducts(page_size)";
+                    call = key -> grpcStub.listProducts(ListProductsRequest.newBuilder().setPageSize(LIST_PAGE_SIZE).build());
+                }
+                case CREATE -> {
+                    name = "gRPC ProductService/CreateProduct";
+                    call = key -> {
+                        ProductDTO product = newProduct(key);
+                        grpcStub.createProduct(CreateProductRequest.newBuilder()
+                                .setProductName(product.getProductName())
+                                .setDescription(product.getDescription())
+                                .setProductPrice(product.getProductPrice().doubleValue())
+                                .setStockQuantity(product.getStock_quantity())
+                                .setCategoryId(product.getCategoryId())
+                                .build());
+                    };
+                }
+                default -> throw new IllegalArgumentException("Unsupported operation " + operation + " over gRPC");
+            }
+        }
+        return new Endpoint(name, operation, transport, weight, call);
+    }
+
+    private long productId(long key) {
+        long[] productIds = dataset.productIds();
+        return productIds[(int) Math.floorMod(key, (long) productIds.length)];
+    }
+
+    private ProductDTO newProduct(long key) {
+        long[] categoryIds = dataset.categoryIds();
+        return DatasetGenerator.product(createdSequence.getAndIncrement(),
+                categoryIds[(int) Math.floorMod(key, (long) categoryIds.length)], new SplittableRandom(key));
+    }
+
+    // The body is read in full and dropped, so its transfer counts towards latency
+    private void send(HttpRequest.Builder builder) throws IOException, InterruptedException {
+        HttpRequest request = builder.build();
+        HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() >= 300) {
+            throw new IOException(request.method() + " " + request.uri() + " returned " + response.statusCode());
+        }
+    }
+}
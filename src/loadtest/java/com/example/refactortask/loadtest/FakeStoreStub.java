@@ -0,0 +1,52 @@
+package com.example.refactortask.loadtest;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.concurrent.Executors;
+
+/**
+ * Local stand-in for {@code https://fakestoreapi.com}: serves a fixed {@code /products} payload so sync operations
+ * are repeatable and never leave the machine. No ETag is sent, so every sync downloads and diffs the full catalog,
+ * the expensive path. The stub starts empty (503) because the application needs its URL at startup, before the
+ * catalog has been seeded; {@link #serve} sets the payload once it exists.
+ */
+final class FakeStoreStub implements AutoCloseable {
+
+    private final HttpServer server;
+    private volatile byte[] productsJson;
+
+    FakeStoreStub() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/products", exchange -> {
+            byte[] productsJson = this.productsJson;
+            if (productsJson == null) {
+                exchange.sendResponseHeaders(503, -1);
+                exchange.close();
+                return;
+            }
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, productsJson.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(productsJson);
+            }
+        });
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.start();
+    }
+
+    void serve(byte[] productsJson) {
+        this.productsJson = productsJson;
+    }
+
+    String baseUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
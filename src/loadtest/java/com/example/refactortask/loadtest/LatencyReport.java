@@ -0,0 +1,104 @@
+package com.example.refactortask.loadtest;
+
+import com.example.refactortask.loadtest.OpenLoopDriver.EndpointResult;
+import com.example.refactortask.loadtest.OpenLoopDriver.RunResult;
+import com.example.refactortask.model.entity.SyncRun;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Prints a per-endpoint summary and writes, for each endpoint, the full response time percentile distribution in
+ * HdrHistogram's {@code .hgrm} format (plottable with the HdrHistogram plotter) plus a {@code summary.csv}.
+ * Histograms are recorded in microseconds and reported in milliseconds.
+ */
+final class LatencyReport {
+
+    private static final double MICROS_PER_MILLI = 1000.0;
+    private static final String HEADER_FORMAT = "%-46s %8s %7s %9s %9s %9s %9s %9s %9s %9s %12s%n";
+    private static final String ROW_FORMAT = "%-46s %8d %7d %9d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f %12.2f%n";
+
+    private LatencyReport() {
+    }
+
+    static void write(RunResult run, List<SyncRun> syncRuns, Path outputDir, PrintStream out) throws IOException {
+        Files.createDirectories(outputDir);
+        double seconds = run.measured().toNanos() / 1e9;
+        List<String> csv = new ArrayList<>();
+        csv.add("endpoint,count,errors,abandoned,throughput_per_s,p50_ms,p90_ms,p99_ms,p999_ms,max_ms,service_p99_ms");
+
+        out.println();
+        out.printf(HEADER_FORMAT, "endpoint", "count", "errors", "abandoned", "ops/s", "p50 ms", "p90 ms", "p99 ms",
+                "p99.9 ms", "max ms", "svc p99 ms");
+        for (EndpointResult result : run.endpoints()) {
+            Histogram responseTime = result.responseTime();
+            Object[] row = {
+                    result.endpoint().name(),
+                    result.completed(),
+                    result.errors(),
+                    result.abandoned(),
+                    // Abandoned requests stay in the latency percentiles but were never served
+                    result.completed() / seconds,
+                    millis(responseTime.getValueAtPercentile(50)),
+                    millis(responseTime.getValueAtPercentile(90)),
+                    millis(responseTime.getValueAtPercentile(99)),
+                    millis(responseTime.getValueAtPercentile(99.9)),
+                    millis(responseTime.getMaxValue()),
+                    millis(result.serviceTime().getValueAtPercentile(99))
+            };
+            out.printf(Locale.ROOT, ROW_FORMAT, row);
+            csv.add(String.format(Locale.ROOT, "\"%s\",%d,%d,%d,%.1f,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f", row));
+
+            Path hgrm = outputDir.resolve(fileName(result) + ".hgrm");
+            try (PrintStream distribution = new PrintStream(Files.newOutputStream(hgrm))) {
+                responseTime.outputPercentileDistribution(distribution, MICROS_PER_MILLI);
+            }
+        }
+        if (run.notCompleted() > 0) {
+            out.printf("%d requests were still queued at the drain timeout; their response time is counted up to the"
+                            + " timeout, so the tail percentiles are a lower bound%n",
+                    run.notCompleted());
+        }
+        Files.write(outputDir.resolve("summary.csv"), csv);
+
+        writeSyncRuns(syncRuns, out);
+        out.println("Percentile distributions and summary.csv written to " + outputDir.toAbsolutePath());
+    }
+
+    // The sync endpoint only queues a run, so the runs' own durations come from the sync run table
+    private static void writeSyncRuns(List<SyncRun> syncRuns, PrintStream out) {
+        if (syncRuns.isEmpty()) {
+            return;
+        }
+        Map<SyncRun.Status, Integer> byStatus = new EnumMap<>(SyncRun.Status.class);
+        Histogram durations = new Histogram(3);
+        for (SyncRun syncRun : syncRuns) {
+            byStatus.merge(syncRun.getStatus(), 1, Integer::sum);
+            if (syncRun.getStatus() == SyncRun.Status.SUCCEEDED && syncRun.getDurationMs() != null) {
+                durations.recordValue(syncRun.getDurationMs());
+            }
+        }
+        out.println();
+        out.println("Sync runs: " + byStatus);
+        if (durations.getTotalCount() > 0) {
+            out.printf("Succeeded sync run duration: p50 %d ms, p99 %d ms, max %d ms%n",
+                    durations.getValueAtPercentile(50), durations.getValueAtPercentile(99), durations.getMaxValue());
+        }
+    }
+
+    private static double millis(long micros) {
+        return micros / MICROS_PER_MILLI;
+    }
+
+    private static String fileName(EndpointResult result) {
+        return (result.endpoint().transport() + "-" + result.endpoint().operation()).toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.refactortask.loadtest;
+
+import com.example.refactortask.RefactorTaskApplication;
+import com.example.refactortask.repository.CategoryRepository;
+import com.example.refactortask.repository.SyncRunRepository;
+import com.example.refactortask.service.ProductService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.grpc.ManagedChannel;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Starts the application in-process (embedded web server on a random port, gRPC over the in-process transport
+ * only), seeds it, drives the configured operation mix at a fixed rate and reports latency per endpoint.
+ * Run with {@code ./gradlew loadTest}; settings are described on {@link LoadTestConfig}.
+ */
+@Slf4j
+public final class LoadTest {
+
+    private static final String GRPC_IN_PROCESS_NAME = "interview-grpc-server";
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        log.info("Load test configuration: {}", config);
+
+        try (FakeStoreStub fakeStore = new FakeStoreStub();
+             ConfigurableApplicationContext context = new SpringApplicationBuilder(RefactorTaskApplication.class)
+                     .run(applicationArgs(config, fakeStore))) {
+            int httpPort = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+
+            long seedingStart = System.nanoTime();
+            DatasetGenerator.Dataset dataset = new DatasetGenerator(context.getBean(ProductService.class),
+                    context.getBean(CategoryRepository.class), config.seed())
+                    .seed(config.products(), config.categories());
+            fakeStore.serve(dataset.externalCatalogJson());
+            log.info("Seeded {} products in {} categories in {} ms", config.products(), config.categories(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - seedingStart));
+
+            ManagedChannel channel = InProcessChannelBuilder.forName(GRPC_IN_PROCESS_NAME).build();
+            try {
+                Endpoints endpoints = new Endpoints(context.getBean(ObjectMapper.class), httpPort, channel, dataset);
+                List<Endpoints.Endpoint> mix = endpoints.forMix(config.mix(), config.transports());
+                OpenLoopDriver.RunResult result = new OpenLoopDriver(mix, config.rate(), config.threads(), config.seed())
+                        .run(config.warmup(), config.duration());
+                LatencyReport.write(result, context.getBean(SyncRunRepository.class).findAll(), config.outputDir(),
+                        System.out);
+            } finally {
+                channel.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+            }
+        }
+    }
+
+    private static String[] applicationArgs(LoadTestConfig config, FakeStoreStub fakeStore) {
+        return new String[]{
+                "--server.port=0",
+                "--grpc.server.port=-1",
+                "--grpc.server.in-process-name=" + GRPC_IN_PROCESS_NAME,
+                "--spring.datasource.url=jdbc:h2:mem:loadtest",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.com.example.refactortask=INFO",
+                "--external.api.fakestore.url=" + fakeStore.baseUrl(),
+                "--external.api.fakestore.cache-dir=" + config.outputDir().resolve("fakestore-cache").toAbsolutePath()
+        };
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.refactortask.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Load test settings, read from {@code loadtest.*} system properties (the Gradle task forwards {@code -Ploadtest.*}).
+ *
+ * @param products   products seeded before the run
+ * @param categories categories the seeded products are spread over
+ * @param rate       target operations per second across all endpoints
+ * @param warmup     load applied before recording starts
+ * @param duration   recorded part of the run
+ * @param mix        relative weight per operation, e.g. {@code get:70,list:10,create:15,sync:5}
+ * @param transports transports to drive; an operation's weight is split evenly across the transports that offer it
+ * @param threads    client worker threads; requests wait for a free worker, which shows up in response time
+ * @param seed       seed for the dataset and the request sequence, so runs are repeatable
+ * @param outputDir  where percentile distributions and the summary are written
+ */
+record LoadTestConfig(
+        int products,
+        int categories,
+        double rate,
+        Duration warmup,
+        Duration duration,
+        Map<Operation, Integer> mix,
+        Set<Transport> transports,
+        int threads,
+        long seed,
+        Path outputDir
+) {
+
+    enum Operation {
+        GET, LIST, CREATE, SYNC
+    }
+
+    enum Transport {
+        REST, GRPC
+    }
+
+    static LoadTestConfig fromSystemProperties() {
+        LoadTestConfig config = new LoadTestConfig(
+                Integer.parseInt(property("products", "10000")),
+                Integer.parseInt(property("categories", "10")),
+                Double.parseDouble(property("rate", "200")),
+                DurationStyle.detectAndParse(property("warmup", "10s")),
+                DurationStyle.detectAndParse(property("duration", "60s")),
+                parseMix(property("mix", "get:70,list:10,create:15,sync:5")),
+                parseTransports(property("transports", "rest,grpc")),
+                Integer.parseInt(property("threads", "64")),
+                Long.parseLong(property("seed", "42")),
+                Path.of(property("output", "build/loadtest")));
+        if (config.products <= 0 || config.categories <= 0 || config.rate <= 0 || config.threads <= 0) {
+            throw new IllegalArgumentException("products, categories, rate and threads must be positive: " + config);
+        }
+        return config;
+    }
+
+    private static String property(String name, String defaultValue) {
+        return System.getProperty("loadtest." + name, defaultValue);
+    }
+
+    private static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected <operation>:<weight> in loadtest.mix, got '" + entry + "'");
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Negative weight in loadtest.mix: '" + entry + "'");
+            }
+            weights.put(Operation.valueOf(parts[0].trim().toUpperCase(Locale.ROOT)), weight);
+        }
+        return weights;
+    }
+
+    private static Set<Transport> parseTransports(String transports) {
+        Set<Transport> parsed = EnumSet.noneOf(Transport.class);
+        Arrays.stream(transports.split(","))
+                .map(transport -> Transport.valueOf(transport.trim().toUpperCase(Locale.ROOT)))
+                .forEach(parsed::add);
+        return parsed;
+    }
+}
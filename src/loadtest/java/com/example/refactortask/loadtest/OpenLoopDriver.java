@@ -0,0 +1,169 @@
+package com.example.refactortask.loadtest;
+
+import com.example.refactortask.loadtest.Endpoints.Endpoint;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives the endpoints at a fixed arrival rate, independent of how fast responses come back (an open model).
+ * <p>
+ * Request {@code i} is due at {@code start + i / rate}. Its response time is measured from that intended start, not
+ * from when a worker got around to sending it, so time spent queued behind slow requests is counted instead of
+ * silently omitted (coordinated omission). Service time, measured from the actual send, is recorded alongside to
+ * show how much of the latency is queueing. Both are recorded in microseconds into auto-resizing HdrHistograms.
+ * Requests still queued when the drain timeout expires are never sent; their response time is recorded as the time
+ * they had waited by then, so the backlog stays in the tail instead of being dropped from it.
+ */
+@Slf4j
+final class OpenLoopDriver {
+
+    private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(30);
+
+    /**
+     * {@code responseTime} holds completed and abandoned requests alike; {@code serviceTime} only completed ones.
+     */
+    record EndpointResult(Endpoint endpoint, Histogram responseTime, Histogram serviceTime, long errors,
+                          long abandoned) {
+
+        long completed() {
+            return responseTime.getTotalCount() - abandoned;
+        }
+    }
+
+    record RunResult(List<EndpointResult> endpoints, Duration measured, long notCompleted) {
+    }
+
+    private static final class EndpointRecorder {
+        private final Endpoint endpoint;
+        private final Recorder responseTime = new Recorder(3);
+        private final Recorder serviceTime = new Recorder(3);
+        private final AtomicLong errors = new AtomicLong();
+        private final AtomicLong abandoned = new AtomicLong();
+
+        private EndpointRecorder(Endpoint endpoint) {
+            this.endpoint = endpoint;
+        }
+
+        private void reset() {
+            responseTime.reset();
+            serviceTime.reset();
+            errors.set(0);
+            abandoned.set(0);
+        }
+    }
+
+    private record Request(EndpointRecorder recorder, long intendedStart, long key) implements Runnable {
+
+        @Override
+        public void run() {
+            long sentAt = System.nanoTime();
+            try {
+                recorder.endpoint.call().execute(key);
+            } catch (Exception e) {
+                if (recorder.errors.incrementAndGet() == 1) {
+                    log.warn("{} failed: {}", recorder.endpoint.name(), e.toString());
+                }
+            } finally {
+                long completedAt = System.nanoTime();
+                recorder.responseTime.recordValue(TimeUnit.NANOSECONDS.toMicros(completedAt - intendedStart));
+                recorder.serviceTime.recordValue(TimeUnit.NANOSECONDS.toMicros(completedAt - sentAt));
+            }
+        }
+
+        // Never sent, so there is no service time; the response time is at least how long it has waited
+        private void abandon(long now) {
+            recorder.responseTime.recordValue(TimeUnit.NANOSECONDS.toMicros(now - intendedStart));
+            recorder.abandoned.incrementAndGet();
+        }
+    }
+
+    private final List<Endpoint> endpoints;
+    private final double rate;
+    private final int threads;
+    private final long seed;
+
+    OpenLoopDriver(List<Endpoint> endpoints, double rate, int threads, long seed) {
+        this.endpoints = endpoints;
+        this.rate = rate;
+        this.threads = threads;
+        this.seed = seed;
+    }
+
+    RunResult run(Duration warmup, Duration duration) throws InterruptedException {
+        List<EndpointRecorder> recorders = endpoints.stream().map(EndpointRecorder::new).toList();
+        double[] cumulativeWeights = new double[endpoints.size()];
+        double cumulative = 0;
+        for (int i = 0; i < endpoints.size(); i++) {
+            cumulative += endpoints.get(i).weight();
+            cumulativeWeights[i] = cumulative;
+        }
+
+        SplittableRandom random = new SplittableRandom(seed);
+        ExecutorService workers = Executors.newFixedThreadPool(threads);
+        long intervalNanos = Math.round(TimeUnit.SECONDS.toNanos(1) / rate);
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+        boolean measuring = false;
+
+        log.info("Driving {} endpoints at {}/s: {} warmup, {} measured", endpoints.size(), rate, warmup, duration);
+        for (long i = 0; ; i++) {
+            long intendedStart = start + i * intervalNanos;
+            if (intendedStart >= end) {
+                break;
+            }
+            long wait = intendedStart - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            if (!measuring && intendedStart >= measureFrom) {
+                // Drops whatever completed during warmup; the few warmup requests still in flight are counted
+                recorders.forEach(EndpointRecorder::reset);
+                measuring = true;
+            }
+
+            EndpointRecorder recorder = recorders.get(pick(cumulativeWeights, random.nextDouble() * cumulative));
+            workers.execute(new Request(recorder, intendedStart, random.nextLong()));
+        }
+
+        workers.shutdown();
+        long notCompleted = 0;
+        if (!workers.awaitTermination(DRAIN_TIMEOUT.toSeconds(), TimeUnit.SECONDS)) {
+            List<Runnable> queued = workers.shutdownNow();
+            long now = System.nanoTime();
+            queued.forEach(request -> ((Request) request).abandon(now));
+            notCompleted = queued.size();
+            log.warn("{} requests were still queued {} after the run and were never sent; the target rate is above"
+                    + " capacity", notCompleted, DRAIN_TIMEOUT);
+            // Requests still in flight record themselves as they finish or fail on the interrupt
+            workers.awaitTermination(5, TimeUnit.SECONDS);
+        }
+
+        List<EndpointResult> results = new ArrayList<>(recorders.size());
+        for (EndpointRecorder recorder : recorders) {
+            results.add(new EndpointResult(recorder.endpoint, recorder.responseTime.getIntervalHistogram(),
+                    recorder.serviceTime.getIntervalHistogram(), recorder.errors.get(), recorder.abandoned.get()));
+        }
+        return new RunResult(results, duration, notCompleted);
+    }
+
+    private static int pick(double[] cumulativeWeights, double value) {
+        for (int i = 0; i < cumulativeWeights.length - 1; i++) {
+            if (value < cumulativeWeights[i]) {
+                return i;
+            }
+        }
+        return cumulativeWeights.length - 1;
+    }
+}
@@ -1,45 +1,250 @@
 package com.example.refactortask.client;
 
+import com.example.refactortask.exception.ResourceNotFoundException;
+import com.example.refactortask.model.dto.ExternalCatalogSnapshot;
+import com.example.refactortask.model.dto.ExternalProductBatchResult;
 import com.example.refactortask.model.dto.ExternalProductDTO;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class FakeStoreApiClient {
 
+    private static final String REQUESTS_METRIC = "fakestore.client.requests";
+
+    private final RestTemplate restTemplate;
+    private final FakeStoreResilience resilience;
+    private final FakeStoreResponseCache responseCache;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
     @Value("${external.api.fakestore.url:https://fakestoreapi.com}")
     private String apiBaseUrl;
+
+    @Value("${external.api.fakestore.enrichment.concurrency:16}")
+    private int enrichmentConcurrency;
+
+    @Value("${external.api.fakestore.enrichment.call-deadline:3s}")
+    private Duration enrichmentCallDeadline;
     
     public List<ExternalProductDTO> getAllProducts() {
         try {
             String url = apiBaseUrl + "/products";
-            ExternalProductDTO[] products = new RestTemplate().getForObject(url, ExternalProductDTO[].class);
+            ExternalProductDTO[] products = call("products", () -> restTemplate.getForObject(url, ExternalProductDTO[].class));
             return products != null ? Arrays.asList(products) : Collections.emptyList();
         } catch (RestClientException e) {
             log.error("Error fetching products from external API", e);
             return Collections.emptyList();
+        } catch (CallNotPermittedException | BulkheadFullException e) {
+            log.warn("External API call rejected: {}", e.getMessage());
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * Conditional fetch of the full catalog through {@link FakeStoreResponseCache}. When the upstream answers 304
+     * the snapshot is flagged {@code notModified} and carries the previously downloaded body. The body is parsed
+     * lazily and incrementally, so iterating the snapshot runs in constant memory whatever the catalog size.
+     * When the catalog cannot be fetched the snapshot is {@link ExternalCatalogSnapshot#unavailable unavailable}.
+     */
+    public ExternalCatalogSnapshot getCatalogSnapshot() {
+        String url = apiBaseUrl + "/products";
+        try {
+            FakeStoreResponseCache.CachedResponse cached = call("catalog", () -> restTemplate.execute(url, HttpMethod.GET,
+                    request -> responseCache.addValidators(url, request.getHeaders()),
+                    response -> responseCache.store(url, response)));
+            if (cached == null) {
+                return ExternalCatalogSnapshot.unavailable("Empty response from " + url);
+            }
+            return new ExternalCatalogSnapshot(cached.version(), cached.notModified(),
+                    action -> readProducts(cached.body(), action));
+        } catch (RestClientException e) {
+            log.error("Error fetching products from external API", e);
+            return ExternalCatalogSnapshot.unavailable(e.getMessage());
+        } catch (CallNotPermittedException | BulkheadFullException e) {
+            log.warn("External API call rejected: {}", e.getMessage());
+            return ExternalCatalogSnapshot.unavailable(e.getMessage());
+        }
+    }
+
+    /**
+     * Streams the elements of the cached JSON array through {@link JsonParser}, binding one
+     * {@link ExternalProductDTO} at a time instead of materializing the whole array. Fields the upstream adds are
+     * ignored, as the RestTemplate converter does, so a schema addition cannot fail a sync halfway through.
+     */
+    private void readProducts(Path body, Consumer<ExternalProductDTO> action) {
+        ObjectReader productReader = objectMapper.readerFor(ExternalProductDTO.class)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        try (JsonParser parser = objectMapper.getFactory().createParser(body.toFile())) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IOException("Expected a JSON array of products in " + body);
+            }
+            JsonToken token;
+            while ((token = parser.nextToken()) != null && token != JsonToken.END_ARRAY) {
+                if (token == JsonToken.START_OBJECT) {
+                    action.accept(productReader.readValue(parser));
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read external catalog from " + body, e);
         }
     }
 
     public Optional<ExternalProductDTO> getProductById(Integer id) {
         try {
-            String url = apiBaseUrl + "/products/" + id;
-            ExternalProductDTO product = new RestTemplate().getForObject(url, ExternalProductDTO.class);
-            return Optional.ofNullable(product);
+            return Optional.ofNullable(fetchProductById(id));
         } catch (RestClientException e) {
             log.error("Error fetching product with ID {} from external API", id, e);
             return Optional.empty();
+        } catch (CallNotPermittedException | BulkheadFullException e) {
+            log.warn("External API call for product {} rejected: {}", id, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Fetches many products concurrently, one virtual thread per id. At most
+     * {@code external.api.fakestore.enrichment.concurrency} requests are in flight at once. Each id has one
+     * {@code enrichment.call-deadline}, counted from submission, that covers waiting for a permit as well as the
+     * request itself; the request is made once, without retries, and an id that misses its deadline is reported as
+     * a failure. The batch returns without waiting for abandoned requests. Failures never abort the batch.
+     */
+    public ExternalProductBatchResult getProductsByIds(Collection<Integer> ids) {
+        Map<Integer, ExternalProductDTO> products = new ConcurrentHashMap<>();
+        Map<Integer, Throwable> failures = new ConcurrentHashMap<>();
+        Semaphore permits = new Semaphore(enrichmentConcurrency);
+
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            Map<Integer, Future<ExternalProductDTO>> calls = new LinkedHashMap<>();
+            for (Integer id : new LinkedHashSet<>(ids)) {
+                long deadline = System.nanoTime() + enrichmentCallDeadline.toNanos();
+                calls.put(id, executor.submit(() -> callWithDeadline(executor, permits, id, deadline)));
+            }
+
+            calls.forEach((id, call) -> {
+                try {
+                    products.put(id, call.get());
+                } catch (ExecutionException e) {
+                    failures.put(id, e.getCause());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    failures.put(id, e);
+                }
+            });
+        } finally {
+            // Interrupting a virtual thread blocked on a socket closes the socket; nothing left is worth waiting for
+            executor.shutdownNow();
+        }
+
+        if (!failures.isEmpty()) {
+            log.warn("Fetched {} of {} products from external API, {} failed", products.size(),
+                    products.size() + failures.size(), failures.size());
+        }
+        return new ExternalProductBatchResult(products, failures);
+    }
+
+    private ExternalProductDTO callWithDeadline(ExecutorService executor, Semaphore permits, Integer id,
+                                                long deadline) throws Exception {
+        if (!permits.tryAcquire(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+            throw deadlineExceeded(id);
+        }
+        try {
+            String url = apiBaseUrl + "/products/" + id;
+            Future<ExternalProductDTO> call = executor.submit(() -> timed("product",
+                    () -> resilience.callOnce(() -> restTemplate.getForObject(url, ExternalProductDTO.class))));
+            try {
+                ExternalProductDTO product = call.get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                if (product == null) {
+                    throw new ResourceNotFoundException("External product", "id", id);
+                }
+                return product;
+            } catch (TimeoutException e) {
+                call.cancel(true);
+                throw deadlineExceeded(id);
+            } catch (ExecutionException e) {
+                throw e.getCause() instanceof Exception cause ? cause : e;
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    private TimeoutException deadlineExceeded(Integer id) {
+        return new TimeoutException("External product " + id + " not fetched within " + enrichmentCallDeadline);
+    }
+
+    private ExternalProductDTO fetchProductById(Integer id) {
+        String url = apiBaseUrl + "/products/" + id;
+        return call("product", () -> restTemplate.getForObject(url, ExternalProductDTO.class));
+    }
+
+    private <T> T call(String operation, Supplier<T> upstreamCall) {
+        return timed(operation, () -> resilience.call(upstreamCall));
+    }
+
+    /**
+     * Runs an upstream call guarded by {@link FakeStoreResilience} and times it as {@value #REQUESTS_METRIC}, tagged
+     * with the operation and an outcome of {@code success}, {@code rejected} (open circuit or full bulkhead) or
+     * {@code error}. The time includes any retries and their backoff, i.e. what the caller waited.
+     */
+    private <T> T timed(String operation, Supplier<T> guardedCall) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            T result = guardedCall.get();
+            outcome = "success";
+            return result;
+        } catch (CallNotPermittedException | BulkheadFullException e) {
+            outcome = "rejected";
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(REQUESTS_METRIC)
+                    .description("Fake Store API call latency")
+                    .tag("operation", operation)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
         }
     }
-}
\ No newline at end of file
+}
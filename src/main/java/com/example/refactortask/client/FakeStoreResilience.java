@@ -0,0 +1,42 @@
+package com.example.refactortask.client;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.retry.Retry;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.function.Supplier;
+
+/**
+ * Guards every call to the Fake Store API with, from the outside in: bounded retries with jittered exponential
+ * backoff, a bulkhead capping concurrent upstream calls, and a circuit breaker. While the circuit is open or the
+ * bulkhead is full, calls fail immediately instead of tying up the caller's thread for a socket timeout.
+ * <p>
+ * The bulkhead sits outside the breaker: a full bulkhead is local saturation, not an upstream failure, so it must
+ * not count towards opening the circuit, and time spent waiting for a permit must not count as a slow call.
+ */
+@Getter
+@RequiredArgsConstructor
+public class FakeStoreResilience {
+
+    private final CircuitBreaker circuitBreaker;
+    private final Retry retry;
+    private final Bulkhead bulkhead;
+
+    public <T> T call(Supplier<T> upstreamCall) {
+        return Retry.decorateSupplier(retry, guard(upstreamCall)).get();
+    }
+
+    /**
+     * Bulkhead and circuit breaker only, for callers that bound the call with their own deadline and cannot afford
+     * retries and their backoff on top of it.
+     */
+    public <T> T callOnce(Supplier<T> upstreamCall) {
+        return guard(upstreamCall).get();
+    }
+
+    private <T> Supplier<T> guard(Supplier<T> upstreamCall) {
+        return Bulkhead.decorateSupplier(bulkhead, CircuitBreaker.decorateSupplier(circuitBreaker, upstreamCall));
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.refactortask.client;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Properties;
+
+/**
+ * Persistent HTTP response cache for Fake Store payloads. Bodies are stored on disk next to their
+ * {@code ETag}/{@code Last-Modified} validators, which are replayed as {@code If-None-Match}/{@code If-Modified-Since}
+ * so an unchanged upstream answers with an empty 304 instead of the full catalog.
+ */
+@Component
+@Slf4j
+public class FakeStoreResponseCache {
+
+    private static final String ETAG = "etag";
+    private static final String LAST_MODIFIED = "last-modified";
+
+    private final Path directory;
+
+    public FakeStoreResponseCache(@Value("${external.api.fakestore.cache-dir:${java.io.tmpdir}/fakestore-cache}") String directory) {
+        this.directory = Path.of(directory);
+    }
+
+    /**
+     * A cached body. {@code version} is the validator the body was served with, or null when the upstream sent none.
+     */
+    public record CachedResponse(Path body, String version, boolean notModified) {
+    }
+
+    public void addValidators(String url, HttpHeaders headers) throws IOException {
+        Path body = bodyFile(url);
+        Path meta = metaFile(url);
+        if (!Files.exists(body) || !Files.exists(meta)) {
+            return;
+        }
+        Properties validators = readMeta(meta);
+        if (validators.getProperty(ETAG) != null) {
+            headers.set(HttpHeaders.IF_NONE_MATCH, validators.getProperty(ETAG));
+        }
+        if (validators.getProperty(LAST_MODIFIED) != null) {
+            headers.set(HttpHeaders.IF_MODIFIED_SINCE, validators.getProperty(LAST_MODIFIED));
+        }
+    }
+
+    /**
+     * Resolves the response to a body on disk: a 304 returns the previously stored body, anything else is streamed
+     * to a temp file and atomically swapped in, so a failed download never corrupts the cache.
+     */
+    public CachedResponse store(String url, ClientHttpResponse response) throws IOException {
+        Path body = bodyFile(url);
+        Path meta = metaFile(url);
+
+        if (response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+            log.debug("Upstream reports {} not modified, using cached body", url);
+            return new CachedResponse(body, version(readMeta(meta)), true);
+        }
+
+        Files.createDirectories(directory);
+        Path tempBody = Files.createTempFile(directory, "body-", ".tmp");
+        try (InputStream in = response.getBody(); OutputStream out = Files.newOutputStream(tempBody)) {
+            in.transferTo(out);
+        } catch (IOException e) {
+            Files.deleteIfExists(tempBody);
+            throw e;
+        }
+
+        Properties validators = new Properties();
+        String etag = response.getHeaders().getETag();
+        String lastModified = response.getHeaders().getFirst(HttpHeaders.LAST_MODIFIED);
+        if (etag != null) {
+            validators.setProperty(ETAG, etag);
+        }
+        if (lastModified != null) {
+            validators.setProperty(LAST_MODIFIED, lastModified);
+        }
+
+        Files.move(tempBody, body, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        try (OutputStream out = Files.newOutputStream(meta)) {
+            validators.store(out, url);
+        }
+        return new CachedResponse(body, version(validators), false);
+    }
+
+    private static String version(Properties validators) {
+        return validators.getProperty(ETAG, validators.getProperty(LAST_MODIFIED));
+    }
+
+    private static Properties readMeta(Path meta) throws IOException {
+        Properties validators = new Properties();
+        if (Files.exists(meta)) {
+            try (InputStream in = Files.newInputStream(meta)) {
+                validators.load(in);
+            }
+        }
+        return validators;
+    }
+
+    private Path bodyFile(String url) {
+        return directory.resolve(key(url) + ".json");
+    }
+
+    private Path metaFile(String url) {
+        return directory.resolve(key(url) + ".properties");
+    }
+
+    private static String key(String url) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(url.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.refactortask.config;
+
+import io.grpc.CompressorRegistry;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.util.Map;
+
+/**
+ * Per-method gRPC call settings under {@code grpc.calls}. Methods are keyed by their full name
+ * ({@code package.Service/Method}); anything not set for a method falls back to {@code defaults}.
+ */
+@ConfigurationProperties(prefix = "grpc.calls")
+public record GrpcCallProperties(MethodSettings defaults, Map<String, MethodSettings> methods) {
+
+    public GrpcCallProperties {
+        defaults = defaults != null ? defaults : new MethodSettings(null, null, null);
+        methods = methods != null ? Map.copyOf(methods) : Map.of();
+    }
+
+    /**
+     * @param compression             response compression ({@code gzip} or {@code identity}); only applied when
+     *                                the client advertises support for it. Names not in the gRPC
+     *                                {@link CompressorRegistry} fail binding, so a typo stops startup instead of
+     *                                failing every call to the method
+     * @param maxInboundMessageSize   largest request message accepted, at most {@code grpc.server.max-inbound-message-size}
+     * @param maxOutboundMessageSize  largest response message sent
+     */
+    public record MethodSettings(String compression, DataSize maxInboundMessageSize, DataSize maxOutboundMessageSize) {
+
+        public MethodSettings {
+            if (compression != null && CompressorRegistry.getDefaultInstance().lookupCompressor(compression) == null) {
+                throw new IllegalArgumentException("Unknown gRPC compression: " + compression);
+            }
+        }
+    }
+
+    public MethodSettings forMethod(String fullMethodName) {
+        MethodSettings method = methods.get(fullMethodName);
+        if (method == null) {
+            return defaults;
+        }
+        return new MethodSettings(
+                method.compression() != null ? method.compression() : defaults.compression(),
+                method.maxInboundMessageSize() != null ? method.maxInboundMessageSize() : defaults.maxInboundMessageSize(),
+                method.maxOutboundMessageSize() != null ? method.maxOutboundMessageSize() : defaults.maxOutboundMessageSize());
+    }
+}
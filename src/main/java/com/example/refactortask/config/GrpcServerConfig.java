@@ -0,0 +1,54 @@
+package com.example.refactortask.config;
+
+import com.example.refactortask.grpc.GrpcCallSettingsInterceptor;
+import io.grpc.netty.shaded.io.grpc.netty.NettyServerBuilder;
+import net.devh.boot.grpc.server.interceptor.GrpcGlobalServerInterceptor;
+import net.devh.boot.grpc.server.serverfactory.GrpcServerConfigurer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+@Configuration
+@EnableConfigurationProperties(GrpcCallProperties.class)
+public class GrpcServerConfig {
+
+    /**
+     * Per-method inbound limits are checked on parsed messages, so they can only be tighter than the transport-wide
+     * {@code grpc.server.max-inbound-message-size}, which gRPC enforces before parsing; a larger one fails startup.
+     */
+    @GrpcGlobalServerInterceptor
+    public GrpcCallSettingsInterceptor grpcCallSettingsInterceptor(
+            GrpcCallProperties properties,
+            @Value("${grpc.server.max-inbound-message-size:4MB}") DataSize transportMaxInboundMessageSize) {
+        checkMaxInboundMessageSize("defaults", properties.defaults(), transportMaxInboundMessageSize);
+        properties.methods().forEach((method, settings) ->
+                checkMaxInboundMessageSize(method, settings, transportMaxInboundMessageSize));
+        return new GrpcCallSettingsInterceptor(properties);
+    }
+
+    /**
+     * HTTP/2 flow control is negotiated per connection, so the window is a server-wide setting rather than a
+     * per-method one. Netty keeps auto-tuning the window from this starting value.
+     */
+    @Bean
+    public GrpcServerConfigurer flowControlConfigurer(
+            @Value("${grpc.server.netty.initial-flow-control-window:1MB}") DataSize initialFlowControlWindow) {
+        return serverBuilder -> {
+            if (serverBuilder instanceof NettyServerBuilder nettyServerBuilder) {
+                nettyServerBuilder.initialFlowControlWindow(Math.toIntExact(initialFlowControlWindow.toBytes()));
+            }
+        };
+    }
+
+    private static void checkMaxInboundMessageSize(String method, GrpcCallProperties.MethodSettings settings,
+                                                   DataSize transportMaxInboundMessageSize) {
+        DataSize maxInbound = settings.maxInboundMessageSize();
+        if (maxInbound != null && maxInbound.toBytes() > transportMaxInboundMessageSize.toBytes()) {
+            throw new IllegalArgumentException(String.format(
+                    "grpc.calls max-inbound-message-size for %s (%s) exceeds grpc.server.max-inbound-message-size (%s)",
+                    method, maxInbound, transportMaxInboundMessageSize));
+        }
+    }
+}
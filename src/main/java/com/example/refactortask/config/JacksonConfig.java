@@ -3,9 +3,11 @@ package com.example.refactortask.config;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 
 import java.text.SimpleDateFormat;
 
@@ -17,9 +19,19 @@ public class JacksonConfig {
     public ObjectMapper objectMapper() {
         ObjectMapper objectMapper = new ObjectMapper();
         objectMapper.registerModule(new JavaTimeModule());
+        // Blackbird swaps reflective getter/setter calls on DTOs such as ProductDTO and CategoryDTO for generated
+        // lambdas; output is identical
+        objectMapper.registerModule(new BlackbirdModule());
         objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
         objectMapper.setDateFormat(new SimpleDateFormat("yyyy-MM-dd HH:mm:ss"));
-        objectMapper.enable(SerializationFeature.INDENT_OUTPUT);
         return objectMapper;
     }
-}
\ No newline at end of file
+
+    /**
+     * Replaces Boot's default JSON converter; responses are compact and pretty printing is opt-in per request.
+     */
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+        return new OptInPrettyPrintJsonConverter(objectMapper);
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.refactortask.config;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.util.MimeType;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * JSON converter that writes compact output unless the current request asks for {@code ?pretty} (or
+ * {@code ?pretty=true}).
+ */
+public class OptInPrettyPrintJsonConverter extends MappingJackson2HttpMessageConverter {
+
+    static final String PRETTY_PARAM = "pretty";
+
+    public OptInPrettyPrintJsonConverter(ObjectMapper objectMapper) {
+        super(objectMapper);
+    }
+
+    @Override
+    protected ObjectWriter customizeWriter(ObjectWriter writer, MimeType mimeType, JavaType javaType) {
+        return isPrettyRequested() ? writer.withDefaultPrettyPrinter() : writer;
+    }
+
+    private static boolean isPrettyRequested() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes servletAttributes)) {
+            return false;
+        }
+        String pretty = servletAttributes.getRequest().getParameter(PRETTY_PARAM);
+        return pretty != null && (pretty.isEmpty() || Boolean.parseBoolean(pretty));
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.refactortask.config;
+
+import com.example.refactortask.client.FakeStoreResilience;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.core.IntervalFunction;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedRetryMetrics;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.time.Duration;
+
+@Configuration
+public class ResilienceConfig {
+
+    public static final String FAKE_STORE = "fakeStore";
+
+    @Bean
+    public CircuitBreakerRegistry circuitBreakerRegistry(
+            @Value("${external.api.fakestore.resilience.circuit-breaker.failure-rate-threshold:50}") float failureRateThreshold,
+            @Value("${external.api.fakestore.resilience.circuit-breaker.slow-call-duration:2s}") Duration slowCallDuration,
+            @Value("${external.api.fakestore.resilience.circuit-breaker.sliding-window-size:20}") int slidingWindowSize,
+            @Value("${external.api.fakestore.resilience.circuit-breaker.minimum-calls:10}") int minimumCalls,
+            @Value("${external.api.fakestore.resilience.circuit-breaker.wait-in-open:30s}") Duration waitInOpen,
+            @Value("${external.api.fakestore.resilience.circuit-breaker.half-open-calls:3}") int halfOpenCalls) {
+        return CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .failureRateThreshold(failureRateThreshold)
+                .slowCallRateThreshold(failureRateThreshold)
+                .slowCallDurationThreshold(slowCallDuration)
+                .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+                .slidingWindowSize(slidingWindowSize)
+                .minimumNumberOfCalls(minimumCalls)
+                .waitDurationInOpenState(waitInOpen)
+                .permittedNumberOfCallsInHalfOpenState(halfOpenCalls)
+                // A 4xx means the upstream is healthy and answered
+                .ignoreExceptions(HttpClientErrorException.class)
+                .build());
+    }
+
+    @Bean
+    public RetryRegistry retryRegistry(
+            @Value("${external.api.fakestore.resilience.retry.max-attempts:3}") int maxAttempts,
+            @Value("${external.api.fakestore.resilience.retry.initial-backoff:200ms}") Duration initialBackoff,
+            @Value("${external.api.fakestore.resilience.retry.multiplier:2.0}") double multiplier,
+            @Value("${external.api.fakestore.resilience.retry.jitter:0.5}") double jitter) {
+        return RetryRegistry.of(RetryConfig.custom()
+                .maxAttempts(maxAttempts)
+                .intervalFunction(IntervalFunction.ofExponentialRandomBackoff(initialBackoff, multiplier, jitter))
+                // Only transient failures; an open circuit or full bulkhead is not retried
+                .retryExceptions(ResourceAccessException.class, HttpServerErrorException.class)
+                .build());
+    }
+
+    @Bean
+    public BulkheadRegistry bulkheadRegistry(
+            @Value("${external.api.fakestore.resilience.bulkhead.max-concurrent-calls:20}") int maxConcurrentCalls,
+            @Value("${external.api.fakestore.resilience.bulkhead.max-wait:500ms}") Duration maxWait) {
+        return BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .maxWaitDuration(maxWait)
+                .build());
+    }
+
+    @Bean
+    public FakeStoreResilience fakeStoreResilience(CircuitBreakerRegistry circuitBreakerRegistry,
+                                                   RetryRegistry retryRegistry,
+                                                   BulkheadRegistry bulkheadRegistry) {
+        return new FakeStoreResilience(
+                circuitBreakerRegistry.circuitBreaker(FAKE_STORE),
+                retryRegistry.retry(FAKE_STORE),
+                bulkheadRegistry.bulkhead(FAKE_STORE));
+    }
+
+    // Circuit state, failure rates, retry outcomes and bulkhead saturation, published under resilience4j.*
+
+    @Bean
+    public MeterBinder circuitBreakerMetrics(CircuitBreakerRegistry circuitBreakerRegistry) {
+        return TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(circuitBreakerRegistry);
+    }
+
+    @Bean
+    public MeterBinder retryMetrics(RetryRegistry retryRegistry) {
+        return TaggedRetryMetrics.ofRetryRegistry(retryRegistry);
+    }
+
+    @Bean
+    public MeterBinder bulkheadMetrics(BulkheadRegistry bulkheadRegistry) {
+        return TaggedBulkheadMetrics.ofBulkheadRegistry(bulkheadRegistry);
+    }
+}
@@ -1,14 +1,62 @@
 package com.example.refactortask.config;
 
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
+
 @Configuration
 public class RestClientConfig {
 
+    /**
+     * Shared pooled HTTP/1.1 client. Connections are kept alive and reused across calls, so bursts of
+     * requests to the same host don't pay a TCP/TLS handshake each; idle and expired connections are evicted
+     * by a background thread.
+     */
+    @Bean
+    public CloseableHttpClient pooledHttpClient(
+            @Value("${external.api.http.max-connections:50}") int maxConnections,
+            @Value("${external.api.http.max-connections-per-route:50}") int maxConnectionsPerRoute,
+            @Value("${external.api.http.connect-timeout:2s}") Duration connectTimeout,
+            @Value("${external.api.http.read-timeout:5s}") Duration readTimeout,
+            @Value("${external.api.http.pool-acquire-timeout:1s}") Duration poolAcquireTimeout,
+            @Value("${external.api.http.connection-ttl:5m}") Duration connectionTtl,
+            @Value("${external.api.http.idle-eviction:30s}") Duration idleEviction) {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnectionsPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeout.toMillis()))
+                        .setSocketTimeout(Timeout.ofMilliseconds(readTimeout.toMillis()))
+                        .setTimeToLive(TimeValue.ofMilliseconds(connectionTtl.toMillis()))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                        .build())
+                .build();
+
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(poolAcquireTimeout.toMillis()))
+                        .setResponseTimeout(Timeout.ofMilliseconds(readTimeout.toMillis()))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofMilliseconds(idleEviction.toMillis()))
+                .build();
+    }
+
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate restTemplate(CloseableHttpClient pooledHttpClient) {
+        return new RestTemplate(new HttpComponentsClientHttpRequestFactory(pooledHttpClient));
     }
-}
\ No newline at end of file
+}
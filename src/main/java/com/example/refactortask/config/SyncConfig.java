@@ -0,0 +1,51 @@
+package com.example.refactortask.config;
+
+import com.example.refactortask.service.ExactTitleMatcher;
+import com.example.refactortask.service.TitleMatcherFactory;
+import com.example.refactortask.service.MinHashTitleMatcher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class SyncConfig {
+
+    /**
+     * Dedicated executor for catalog syncs. A single worker plus a small queue keeps syncs from piling up
+     * or competing with request threads on the common pool; extra submissions are rejected.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor productSyncExecutor(@Value("${product.sync.queue-capacity:1}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("product-sync-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * How external titles are matched to local products during a sync: {@code exact} (normalized equality) or
+     * {@code minhash} (trigram similarity search, matching at or above {@code product.sync.matching.threshold}).
+     * Similarity matching is opt-in: variants of one product line that differ by a short word score close to 1,
+     * so it can enrich a product with another product's data.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public TitleMatcherFactory titleMatcherFactory(@Value("${product.sync.matching.strategy:exact}") String strategy,
+                                                   @Value("${product.sync.matching.threshold:0.85}") double threshold) {
+        return switch (strategy) {
+            case "exact" -> ExactTitleMatcher::new;
+            case "minhash" -> {
+                // Constructed once here so a bad threshold fails startup rather than the first sync
+                new MinHashTitleMatcher(threshold);
+                yield () -> new MinHashTitleMatcher(threshold);
+            }
+            default -> throw new IllegalArgumentException("Unknown product.sync.matching.strategy: " + strategy);
+        };
+    }
+}
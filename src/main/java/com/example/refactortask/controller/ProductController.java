@@ -1,12 +1,21 @@
 package com.example.refactortask.controller;
 
 import com.example.refactortask.model.dto.CategoryDTO;
+import com.example.refactortask.model.dto.ProductBatchItemResult;
 import com.example.refactortask.model.dto.ProductDTO;
+import com.example.refactortask.model.dto.ProductPage;
 import com.example.refactortask.model.entity.Category;
 import com.example.refactortask.repository.CategoryRepository;
+import com.example.refactortask.service.ProductCache;
 import com.example.refactortask.service.ProductService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -15,20 +24,116 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/products")
 @RequiredArgsConstructor
 public class ProductController {
 
+    static final String NEXT_PAGE_TOKEN_HEADER = "X-Next-Page-Token";
+    private static final int STREAM_PAGE_SIZE = 500;
+
     private final ProductService productService;
     private final CategoryRepository categoryRepository;
+    private final ProductCache productCache;
+    private final ObjectMapper objectMapper;
 
     @GetMapping
-    public ResponseEntity<List<ProductDTO>> getAllProducts(@RequestParam(value = "refresh", defaultValue = "false") boolean refresh) {
-        return ResponseEntity.ok(productService.getAllProducts(refresh));
+    public ResponseEntity<List<ProductDTO>> getAllProducts(@RequestParam(value = "refresh", defaultValue = "false") boolean refresh,
+                                                           @RequestParam(value = "after", required = false) Long after,
+                                                           @RequestParam(value = "limit", required = false) Integer limit,
+                                                           @RequestParam(value = "pageToken", required = false) String pageToken) {
+        if (after == null && limit == null && pageToken == null) {
+            return ResponseEntity.ok(productService.getAllProducts(refresh));
+        }
+        if (refresh) {
+            productService.syncWithFakeApi();
+        }
+
+        ProductPage page = productService.getProductPage(pageToken, after, limit);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextPageToken() != null) {
+            response.header(NEXT_PAGE_TOKEN_HEADER, page.nextPageToken());
+        }
+        return response.body(page.products());
+    }
+
+    /**
+     * NDJSON variant of {@link #getAllProducts}, chosen with {@code Accept: application/x-ndjson}. Products are
+     * written one per line as pages are read from the database and flushed after every page, so neither side
+     * buffers the whole catalog.
+     */
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllProducts() {
+        ObjectWriter writer = objectMapper.writerFor(ProductDTO.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                // Lines are separated by the newline below; the default root separator would start each with a space
+                generator.setRootValueSeparator(null);
+                productService.forEachInStockPage(STREAM_PAGE_SIZE, page -> {
+                    try {
+                        for (ProductDTO productDTO : page) {
+                            writer.writeValue(generator, productDTO);
+                            generator.writeRaw('\n');
+                        }
+                        generator.flush();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<List<ProductDTO>> searchProducts(@RequestParam("name") String name) {
+        return ResponseEntity.ok(productService.searchProductsByName(name));
+    }
+
+    /**
+     * Ranked full-text search over names and descriptions; each word also matches as a prefix.
+     */
+    @GetMapping(value = "/search", params = "q")
+    public ResponseEntity<List<ProductDTO>> fullTextSearch(@RequestParam("q") String query,
+                                                           @RequestParam(value = "limit", required = false) Integer limit) {
+        return ResponseEntity.ok(productService.searchProducts(query, limit));
+    }
+
+    @GetMapping("/by-category/{categoryId}")
+    public ResponseEntity<List<ProductDTO>> getProductsByCategory(@PathVariable Long categoryId) {
+        return ResponseEntity.ok(productService.getProductsByCategory(categoryId));
+    }
+
+    @GetMapping("/price-less-than/{price}")
+    public ResponseEntity<List<ProductDTO>> getProductsCheaperThan(@PathVariable BigDecimal price) {
+        return ResponseEntity.ok(productService.getProductsCheaperThan(price));
+    }
+
+    @GetMapping("/in-stock")
+    public ResponseEntity<List<ProductDTO>> getInStockProducts() {
+        return ResponseEntity.ok(productService.getAllProducts(false));
+    }
+
+    @GetMapping("/cache/stats")
+    public ResponseEntity<Map<String, Object>> getCacheStats() {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("byId", toMap(productCache.byIdStats()));
+        return ResponseEntity.ok(body);
     }
 
     @GetMapping("/{id}")
@@ -42,6 +147,23 @@ public class ProductController {
         return ResponseEntity.status(HttpStatus.CREATED).body(createdProduct);
     }
 
+    /**
+     * Writes the batch {@value ProductService#CREATE_BATCH_SIZE} products per transaction, like the gRPC
+     * CreateProducts stream, so a large request never becomes one long transaction. A failing chunk does not roll
+     * back the chunks before it.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<List<ProductBatchItemResult>> createProducts(@RequestBody List<ProductDTO> productDTOs) {
+        List<ProductBatchItemResult> results = new ArrayList<>(productDTOs.size());
+        for (int from = 0; from < productDTOs.size(); from += ProductService.CREATE_BATCH_SIZE) {
+            int offset = from;
+            List<ProductDTO> chunk = productDTOs.subList(from,
+                    Math.min(from + ProductService.CREATE_BATCH_SIZE, productDTOs.size()));
+            productService.createProducts(chunk).forEach(result -> results.add(result.shiftedBy(offset)));
+        }
+        return ResponseEntity.ok(results);
+    }
+
     @PostMapping("/category")
     public ResponseEntity<CategoryDTO> createCategory(@RequestBody CategoryDTO categoryDTO) {
         Category category = new Category();
@@ -66,4 +188,12 @@ public class ProductController {
         return ResponseEntity.noContent().build();
     }
 
+    private static Map<String, Object> toMap(CacheStats stats) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("hits", stats.hitCount());
+        body.put("misses", stats.missCount());
+        body.put("evictions", stats.evictionCount());
+        body.put("hitRate", stats.hitRate());
+        return body;
+    }
 }
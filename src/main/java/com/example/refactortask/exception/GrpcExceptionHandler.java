@@ -27,6 +27,13 @@ public class GrpcExceptionHandler {
         return StatusProto.toStatusRuntimeException(status.build());
     }
 
+    @net.devh.boot.grpc.server.advice.GrpcExceptionHandler({InvalidPageTokenException.class, InvalidCategoryException.class})
+    public StatusRuntimeException handleInvalidArgumentException(RuntimeException ex) {
+        logStandardException(ex, Level.WARN);
+        var status = buildRpcStatus(ex, Code.INVALID_ARGUMENT);
+        return StatusProto.toStatusRuntimeException(status.build());
+    }
+
     @net.devh.boot.grpc.server.advice.GrpcExceptionHandler(RuntimeException.class)
     public StatusRuntimeException handleRuntimeException(RuntimeException ex) {
         logStandardException(ex, Level.ERROR);
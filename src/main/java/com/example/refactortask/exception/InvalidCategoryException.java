@@ -0,0 +1,11 @@
+package com.example.refactortask.exception;
+
+/**
+ * Category input the service refuses, such as a missing or duplicate name; surfaces as INVALID_ARGUMENT over gRPC.
+ */
+public class InvalidCategoryException extends RuntimeException {
+
+    public InvalidCategoryException(String message) {
+        super(message);
+    }
+}
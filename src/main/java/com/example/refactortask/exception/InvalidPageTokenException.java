@@ -0,0 +1,16 @@
+package com.example.refactortask.exception;
+
+/**
+ * A continuation token that was not issued by {@link com.example.refactortask.service.PageTokens}; surfaces as
+ * 400 over REST and INVALID_ARGUMENT over gRPC.
+ */
+public class InvalidPageTokenException extends RuntimeException {
+
+    public InvalidPageTokenException(String token) {
+        super(String.format("Invalid page token: '%s'", token));
+    }
+
+    public InvalidPageTokenException(String token, Throwable cause) {
+        super(String.format("Invalid page token: '%s'", token), cause);
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.refactortask.grpc;
+
+import com.example.refactortask.model.dto.CategoryDTO;
+import com.example.refactortask.service.CategoryService;
+import io.grpc.stub.StreamObserver;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.devh.boot.grpc.server.service.GrpcService;
+
+/**
+ * gRPC facade over {@link CategoryService}. Missing categories and invalid input surface as NOT_FOUND and
+ * INVALID_ARGUMENT through {@link com.example.refactortask.exception.GrpcExceptionHandler}.
+ */
+@GrpcService
+@RequiredArgsConstructor
+@Slf4j
+public class CategoryServiceImpl extends CategoryGrpcServiceGrpc.CategoryGrpcServiceImplBase {
+
+    private final CategoryService categoryService;
+
+    @Override
+    public void fetchCategory(FetchCategoryRequest request, StreamObserver<CategoryData> responseObserver) {
+        responseObserver.onNext(mapToGrpcResponse(categoryService.getCategory(request.getCategoryId())));
+        responseObserver.onCompleted();
+    }
+
+    @Override
+    public void getAllCategories(Empty request, StreamObserver<CategoriesList> responseObserver) {
+        CategoriesList.Builder responseBuilder = CategoriesList.newBuilder();
+        categoryService.getAllCategories()
+                .forEach(categoryDTO -> responseBuilder.addCategories(mapToGrpcResponse(categoryDTO)));
+        responseObserver.onNext(responseBuilder.build());
+        responseObserver.onCompleted();
+    }
+
+    @Override
+    public void addCategory(AddCategoryRequest request, StreamObserver<CategoryData> responseObserver) {
+        CategoryDTO created = categoryService.createCategory(request.getName(), request.getDescription());
+        responseObserver.onNext(mapToGrpcResponse(created));
+        responseObserver.onCompleted();
+    }
+
+    @Override
+    public void modifyCategory(ModifyCategoryRequest request, StreamObserver<CategoryData> responseObserver) {
+        CategoryDTO updated = categoryService.updateCategory(
+                request.getCategoryId(), request.getName(), request.getDescription());
+        responseObserver.onNext(mapToGrpcResponse(updated));
+        responseObserver.onCompleted();
+    }
+
+    @Override
+    public void removeCategory(RemoveCategoryRequest request, StreamObserver<RemoveResponse> responseObserver) {
+        RemoveResponse.Builder response = RemoveResponse.newBuilder();
+        if (categoryService.deleteCategory(request.getCategoryId())) {
+            response.setSuccess(true);
+        } else {
+            response.setSuccess(false)
+                    .setErrorMessage("Category not found with id: " + request.getCategoryId());
+        }
+        responseObserver.onNext(response.build());
+        responseObserver.onCompleted();
+    }
+
+    @Override
+    public void findCategoryByName(FindByNameRequest request, StreamObserver<CategoryData> responseObserver) {
+        responseObserver.onNext(mapToGrpcResponse(categoryService.getCategoryByName(request.getName())));
+        responseObserver.onCompleted();
+    }
+
+    private CategoryData mapToGrpcResponse(CategoryDTO categoryDTO) {
+        CategoryData.Builder builder = CategoryData.newBuilder()
+                .setCategoryId(categoryDTO.id())
+                .setName(categoryDTO.name())
+                .addAllProductIds(categoryDTO.productIds());
+
+        if (categoryDTO.description() != null) {
+            builder.setDescription(categoryDTO.description());
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.refactortask.grpc;
+
+import com.example.refactortask.config.GrpcCallProperties;
+import com.google.protobuf.MessageLite;
+import io.grpc.ForwardingServerCall;
+import io.grpc.ForwardingServerCallListener;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.Status;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Applies {@link GrpcCallProperties} to each call: response compression and per-method message size limits.
+ * Oversized messages end the call with {@code RESOURCE_EXHAUSTED}, the status gRPC itself uses for the
+ * transport-wide limit. Sizes are read from the protobuf messages, which memoize them.
+ * <p>
+ * The inbound check runs on the parsed request, so it rejects the call but does not save the parse: the memory a
+ * single request can take is bounded only by the transport-wide {@code grpc.server.max-inbound-message-size},
+ * which gRPC enforces on the wire before parsing.
+ */
+@RequiredArgsConstructor
+@Slf4j
+public class GrpcCallSettingsInterceptor implements ServerInterceptor {
+
+    private static final String IDENTITY = "identity";
+
+    private final GrpcCallProperties properties;
+
+    @Override
+    public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(ServerCall<ReqT, RespT> call, Metadata headers,
+                                                                 ServerCallHandler<ReqT, RespT> next) {
+        GrpcCallProperties.MethodSettings settings =
+                properties.forMethod(call.getMethodDescriptor().getFullMethodName());
+        if (settings.compression() != null && !IDENTITY.equals(settings.compression())) {
+            call.setCompression(settings.compression());
+        }
+        if (settings.maxInboundMessageSize() == null && settings.maxOutboundMessageSize() == null) {
+            return next.startCall(call, headers);
+        }
+
+        SizeLimitedCall<ReqT, RespT> limitedCall = new SizeLimitedCall<>(call, settings.maxOutboundMessageSize());
+        ServerCall.Listener<ReqT> listener = next.startCall(limitedCall, headers);
+        if (settings.maxInboundMessageSize() == null) {
+            return listener;
+        }
+        long maxInbound = settings.maxInboundMessageSize().toBytes();
+        return new ForwardingServerCallListener.SimpleForwardingServerCallListener<>(listener) {
+            @Override
+            public void onMessage(ReqT message) {
+                if (limitedCall.isClosed()) {
+                    return;
+                }
+                int size = serializedSize(message);
+                if (size > maxInbound) {
+                    limitedCall.close(Status.RESOURCE_EXHAUSTED.withDescription(String.format(
+                            "Request message larger than max (%d vs. %d)", size, maxInbound)), new Metadata());
+                    return;
+                }
+                super.onMessage(message);
+            }
+        };
+    }
+
+    private static int serializedSize(Object message) {
+        return message instanceof MessageLite messageLite ? messageLite.getSerializedSize() : 0;
+    }
+
+    /**
+     * Rejects responses above the outbound limit and swallows whatever the handler sends after the call was
+     * closed because of a limit.
+     */
+    private static final class SizeLimitedCall<ReqT, RespT> extends ForwardingServerCall.SimpleForwardingServerCall<ReqT, RespT> {
+
+        private final long maxOutbound;
+        private volatile boolean closed;
+
+        private SizeLimitedCall(ServerCall<ReqT, RespT> delegate, DataSize maxOutbound) {
+            super(delegate);
+            this.maxOutbound = maxOutbound != null ? maxOutbound.toBytes() : Long.MAX_VALUE;
+        }
+
+        @Override
+        public void sendMessage(RespT message) {
+            if (closed) {
+                return;
+            }
+            int size = serializedSize(message);
+            if (size > maxOutbound) {
+                log.warn("{} response of {} bytes exceeds the {} byte limit",
+                        getMethodDescriptor().getFullMethodName(), size, maxOutbound);
+                close(Status.RESOURCE_EXHAUSTED.withDescription(String.format(
+                        "Response message larger than max (%d vs. %d)", size, maxOutbound)), new Metadata());
+                return;
+            }
+            super.sendMessage(message);
+        }
+
+        @Override
+        public void close(Status status, Metadata trailers) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            super.close(status, trailers);
+        }
+
+        private boolean isClosed() {
+            return closed;
+        }
+    }
+}
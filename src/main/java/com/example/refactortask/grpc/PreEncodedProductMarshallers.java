@@ -0,0 +1,218 @@
+package com.example.refactortask.grpc;
+
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.WireFormat;
+import io.grpc.Drainable;
+import io.grpc.KnownLength;
+import io.grpc.MethodDescriptor;
+import io.grpc.ServerMethodDefinition;
+import io.grpc.ServerServiceDefinition;
+import io.grpc.ServiceDescriptor;
+import io.grpc.protobuf.ProtoUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Response marshallers for {@link ProductResponse} and {@link ListProductsResponse} that write the bytes cached by
+ * {@link ProductResponseCache} straight to the transport. Messages that are not cached, and all request parsing,
+ * go through the regular protobuf marshallers, so the wire format is unchanged.
+ */
+public final class PreEncodedProductMarshallers {
+
+    private static final int MAX_BUFFER_SIZE = 8192;
+
+    private final ProductResponseCache cache;
+    private final MethodDescriptor.Marshaller<ProductResponse> productMarshaller =
+            ProtoUtils.marshaller(ProductResponse.getDefaultInstance());
+    private final MethodDescriptor.Marshaller<ListProductsResponse> listMarshaller =
+            ProtoUtils.marshaller(ListProductsResponse.getDefaultInstance());
+
+    public PreEncodedProductMarshallers(ProductResponseCache cache) {
+        this.cache = cache;
+    }
+
+    /**
+     * Copies {@code definition}, swapping the response marshaller of every method that returns a
+     * {@link ProductResponse} or {@link ListProductsResponse}. Handlers are kept as they are.
+     */
+    public ServerServiceDefinition rebind(ServerServiceDefinition definition) {
+        ServiceDescriptor original = definition.getServiceDescriptor();
+        ServiceDescriptor.Builder descriptor = ServiceDescriptor.newBuilder(original.getName())
+                .setSchemaDescriptor(original.getSchemaDescriptor());
+        List<ServerMethodDefinition<?, ?>> methods = new ArrayList<>();
+        for (ServerMethodDefinition<?, ?> method : definition.getMethods()) {
+            ServerMethodDefinition<?, ?> rebound = rebind(method);
+            descriptor.addMethod(rebound.getMethodDescriptor());
+            methods.add(rebound);
+        }
+
+        ServerServiceDefinition.Builder builder = ServerServiceDefinition.builder(descriptor.build());
+        methods.forEach(builder::addMethod);
+        return builder.build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <ReqT, RespT> ServerMethodDefinition<ReqT, RespT> rebind(ServerMethodDefinition<ReqT, RespT> method) {
+        MethodDescriptor<ReqT, RespT> descriptor = method.getMethodDescriptor();
+        if (!(descriptor.getResponseMarshaller() instanceof MethodDescriptor.PrototypeMarshaller<RespT> prototype)) {
+            return method;
+        }
+        MethodDescriptor.Marshaller<?> marshaller;
+        if (prototype.getMessagePrototype() instanceof ProductResponse) {
+            marshaller = productResponseMarshaller();
+        } else if (prototype.getMessagePrototype() instanceof ListProductsResponse) {
+            marshaller = listProductsResponseMarshaller();
+        } else {
+            return method;
+        }
+        return ServerMethodDefinition.create(
+                descriptor.toBuilder()
+                        .setResponseMarshaller((MethodDescriptor.Marshaller<RespT>) marshaller)
+                        .build(),
+                method.getServerCallHandler());
+    }
+
+    public MethodDescriptor.Marshaller<ProductResponse> productResponseMarshaller() {
+        return new MethodDescriptor.Marshaller<>() {
+            @Override
+            public InputStream stream(ProductResponse response) {
+                byte[] encoded = cache.encoded(response);
+                if (encoded == null) {
+                    return productMarshaller.stream(response);
+                }
+                return new EncodedStream(encoded.length, out -> out.writeRawBytes(encoded));
+            }
+
+            @Override
+            public ProductResponse parse(InputStream stream) {
+                return productMarshaller.parse(stream);
+            }
+        };
+    }
+
+    /**
+     * Writes the message field by field as protobuf would: each product as a length-delimited field 1, using
+     * its cached bytes when there are any, followed by the page token as field 2.
+     */
+    public MethodDescriptor.Marshaller<ListProductsResponse> listProductsResponseMarshaller() {
+        return new MethodDescriptor.Marshaller<>() {
+            @Override
+            public InputStream stream(ListProductsResponse response) {
+                if (response.getUnknownFields().getSerializedSize() > 0) {
+                    return listMarshaller.stream(response);
+                }
+
+                List<ProductResponse> products = response.getProductsList();
+                byte[][] encoded = new byte[products.size()][];
+                int size = 0;
+                for (int i = 0; i < products.size(); i++) {
+                    ProductResponse product = products.get(i);
+                    encoded[i] = cache.encoded(product);
+                    int length = encoded[i] != null ? encoded[i].length : product.getSerializedSize();
+                    size += CodedOutputStream.computeTagSize(ListProductsResponse.PRODUCTS_FIELD_NUMBER)
+                            + CodedOutputStream.computeUInt32SizeNoTag(length)
+                            + length;
+                }
+                String nextPageToken = response.getNextPageToken();
+                if (!nextPageToken.isEmpty()) {
+                    size += CodedOutputStream.computeStringSize(
+                            ListProductsResponse.NEXT_PAGE_TOKEN_FIELD_NUMBER, nextPageToken);
+                }
+
+                return new EncodedStream(size, out -> {
+                    for (int i = 0; i < products.size(); i++) {
+                        if (encoded[i] != null) {
+                            out.writeTag(ListProductsResponse.PRODUCTS_FIELD_NUMBER, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+                            out.writeUInt32NoTag(encoded[i].length);
+                            out.writeRawBytes(encoded[i]);
+                        } else {
+                            out.writeMessage(ListProductsResponse.PRODUCTS_FIELD_NUMBER, products.get(i));
+                        }
+                    }
+                    if (!nextPageToken.isEmpty()) {
+                        out.writeString(ListProductsResponse.NEXT_PAGE_TOKEN_FIELD_NUMBER, nextPageToken);
+                    }
+                });
+            }
+
+            @Override
+            public ListProductsResponse parse(InputStream stream) {
+                return listMarshaller.parse(stream);
+            }
+        };
+    }
+
+    @FunctionalInterface
+    private interface Writer {
+        void writeTo(CodedOutputStream out) throws IOException;
+    }
+
+    /**
+     * Lazily written message. The transport normally calls {@link #drainTo}, which writes directly into its
+     * buffers; plain {@code read} calls fall back to encoding into an array first.
+     */
+    private static final class EncodedStream extends InputStream implements Drainable, KnownLength {
+
+        private final int size;
+        private final Writer writer;
+        private ByteArrayInputStream buffered;
+        private boolean written;
+
+        private EncodedStream(int size, Writer writer) {
+            this.size = size;
+            this.writer = writer;
+        }
+
+        @Override
+        public int drainTo(OutputStream target) throws IOException {
+            if (buffered != null) {
+                return (int) buffered.transferTo(target);
+            }
+            if (written) {
+                return 0;
+            }
+            written = true;
+            CodedOutputStream out = CodedOutputStream.newInstance(target, Math.max(1, Math.min(size, MAX_BUFFER_SIZE)));
+            writer.writeTo(out);
+            out.flush();
+            return size;
+        }
+
+        @Override
+        public int read() throws IOException {
+            return buffer().read();
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            return buffer().read(b, off, len);
+        }
+
+        @Override
+        public int available() {
+            if (buffered != null) {
+                return buffered.available();
+            }
+            return written ? 0 : size;
+        }
+
+        private ByteArrayInputStream buffer() throws IOException {
+            if (buffered == null) {
+                byte[] bytes = new byte[written ? 0 : size];
+                if (!written) {
+                    CodedOutputStream out = CodedOutputStream.newInstance(bytes);
+                    writer.writeTo(out);
+                    out.checkNoSpaceLeft();
+                    written = true;
+                }
+                buffered = new ByteArrayInputStream(bytes);
+            }
+            return buffered;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.refactortask.grpc;
+
+import com.example.refactortask.model.dto.ProductDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.function.Function;
+
+/**
+ * Built {@link ProductResponse} messages together with their serialized bytes, keyed by product id and
+ * {@code updatedAt}. Every write to a product bumps {@code updatedAt}, so a new version gets a new key and stale
+ * entries simply age out; no invalidation is needed.
+ * <p>
+ * The bytes are looked up by message identity, which is what lets {@link PreEncodedProductMarshallers} write a
+ * cached message to the wire without encoding it again.
+ */
+@Component
+@Slf4j
+public class ProductResponseCache {
+
+    private record Version(long id, LocalDateTime updatedAt) {
+    }
+
+    private final boolean enabled;
+    private final Cache<Version, ProductResponse> responses;
+    // weakKeys() compares keys by identity and drops an entry once its message is unreachable
+    private final Cache<ProductResponse, byte[]> encodings;
+
+    public ProductResponseCache(@Value("${product.grpc-response-cache.enabled:true}") boolean enabled,
+                                @Value("${product.grpc-response-cache.max-entries:10000}") long maxEntries) {
+        this.enabled = enabled;
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .recordStats()
+                .build();
+        this.encodings = Caffeine.newBuilder()
+                .weakKeys()
+                .build();
+        log.info("gRPC product response cache enabled={}, maxEntries={}", enabled, maxEntries);
+    }
+
+    /**
+     * Returns the cached message for this version of the product, building and pre-encoding it on a miss.
+     * Products without an id or {@code updatedAt} are never cached.
+     */
+    public ProductResponse get(ProductDTO productDTO, Function<ProductDTO, ProductResponse> builder) {
+        if (!enabled || productDTO.getId() == null || productDTO.getUpdatedAt() == null) {
+            return builder.apply(productDTO);
+        }
+        return responses.get(new Version(productDTO.getId(), productDTO.getUpdatedAt()), version -> {
+            ProductResponse response = builder.apply(productDTO);
+            encodings.put(response, response.toByteArray());
+            return response;
+        });
+    }
+
+    /**
+     * Serialized form of {@code response} if it is an instance handed out by {@link #get}, otherwise {@code null}.
+     */
+    byte[] encoded(ProductResponse response) {
+        return encodings.getIfPresent(response);
+    }
+
+    public void invalidateAll() {
+        responses.invalidateAll();
+        encodings.invalidateAll();
+    }
+}
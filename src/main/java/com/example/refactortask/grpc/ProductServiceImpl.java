@@ -1,8 +1,13 @@
 package com.example.refactortask.grpc;
 
 import com.example.refactortask.client.FakeStoreApiClient;
+import com.example.refactortask.exception.InvalidPageTokenException;
+import com.example.refactortask.exception.ResourceNotFoundException;
+import com.example.refactortask.model.dto.ProductBatchItemResult;
 import com.example.refactortask.model.dto.ProductDTO;
+import com.example.refactortask.model.dto.ProductPage;
 import com.example.refactortask.service.ProductService;
+import io.grpc.ServerServiceDefinition;
 import io.grpc.Status;
 import io.grpc.stub.StreamObserver;
 import lombok.RequiredArgsConstructor;
@@ -11,6 +16,7 @@ import net.devh.boot.grpc.server.service.GrpcService;
 
 import java.math.BigDecimal;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.List;
 
 @GrpcService
@@ -18,7 +24,19 @@ import java.util.List;
 @Slf4j
 public class ProductServiceImpl extends ProductServiceGrpc.ProductServiceImplBase {
 
+    private static final DateTimeFormatter TIMESTAMP_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
     private final ProductService productService;
+    private final ProductResponseCache productResponseCache;
+
+    /**
+     * Serves product responses through {@link PreEncodedProductMarshallers}, so messages cached by
+     * {@link ProductResponseCache} are written to the wire without being encoded again.
+     */
+    @Override
+    public ServerServiceDefinition bindService() {
+        return new PreEncodedProductMarshallers(productResponseCache).rebind(super.bindService());
+    }
 
     @Override
     public void getProduct(ProductRequest request, StreamObserver<ProductResponse> responseObserver) {
@@ -26,7 +44,7 @@ public class ProductServiceImpl extends ProductServiceGrpc.ProductServiceImplBas
             ProductDTO productDTO = productService.getProductById(request.getId());
             responseObserver.onNext(mapToGrpcResponse(productDTO));
             responseObserver.onCompleted();
-        } catch (RuntimeException e) {
+        } catch (ResourceNotFoundException e) {
             responseObserver.onError(Status.NOT_FOUND
                     .withDescription("Product not found with id: " + request.getId())
                     .asRuntimeException());
@@ -36,23 +54,43 @@ public class ProductServiceImpl extends ProductServiceGrpc.ProductServiceImplBas
 
     @Override
     public void listProducts(ListProductsRequest request, StreamObserver<ListProductsResponse> responseObserver) {
-        List<ProductDTO> products = productService.getAllProducts(false);
-
         ListProductsResponse.Builder responseBuilder = ListProductsResponse.newBuilder();
-        products.forEach(productDTO -> responseBuilder.addProducts(mapToGrpcResponse(productDTO)));
+
+        if (request.getPageSize() == 0 && request.getPageToken().isEmpty()) {
+            List<ProductDTO> products = productService.getAllProducts(false);
+            products.forEach(productDTO -> responseBuilder.addProducts(mapToGrpcResponse(productDTO)));
+        } else {
+            ProductPage page;
+            try {
+                page = productService.getProductPage(request.getPageToken(), null, request.getPageSize());
+            } catch (InvalidPageTokenException e) {
+                responseObserver.onError(Status.INVALID_ARGUMENT
+                        .withDescription(e.getMessage())
+                        .asRuntimeException());
+                return;
+            }
+            page.products().forEach(productDTO -> responseBuilder.addProducts(mapToGrpcResponse(productDTO)));
+            if (page.nextPageToken() != null) {
+                responseBuilder.setNextPageToken(page.nextPageToken());
+            }
+        }
 
         responseObserver.onNext(responseBuilder.build());
+        responseObserver.onCompleted();
+    }
+
+    /**
+     * Streams the catalog one keyset page at a time. Messages are only produced while the transport reports
+     * the call as ready, so a slow client pauses the database reads instead of growing the outbound buffer.
+     */
+    @Override
+    public void streamProducts(StreamProductsRequest request, StreamObserver<ProductResponse> responseObserver) {
+        ProductStreamDrainer.start(productService, responseObserver, request.getBatchSize(), this::mapToGrpcResponse);
     }
 
     @Override
     public void createProduct(CreateProductRequest request, StreamObserver<ProductResponse> responseObserver) {
-        ProductDTO productDTO = ProductDTO.builder()
-                .productName(request.getProductName())
-                .description(request.getDescription())
-                .productPrice(BigDecimal.valueOf(request.getProductPrice()))
-                .stock_quantity(request.getStockQuantity())
-                .categoryId(request.getCategoryId())
-                .build();
+        ProductDTO productDTO = toProductDTO(request);
 
         try {
             ProductDTO createdProduct = productService.createProduct(productDTO);
@@ -65,7 +103,102 @@ public class ProductServiceImpl extends ProductServiceGrpc.ProductServiceImplBas
         }
     }
 
+    /**
+     * Client-streaming bulk create. Requests are buffered and written {@value ProductService#CREATE_BATCH_SIZE} at a time through
+     * {@link ProductService#createProducts}; since each write happens inside {@code onNext}, inbound flow control
+     * holds the client back while a batch is being inserted.
+     */
+    @Override
+    public StreamObserver<CreateProductRequest> createProducts(StreamObserver<CreateProductsResponse> responseObserver) {
+        return new StreamObserver<>() {
+
+            private final List<ProductDTO> buffer = new ArrayList<>(ProductService.CREATE_BATCH_SIZE);
+            private final CreateProductsResponse.Builder response = CreateProductsResponse.newBuilder();
+            private int flushedCount;
+            private boolean failed;
+
+            @Override
+            public void onNext(CreateProductRequest request) {
+                if (failed) {
+                    return;
+                }
+                buffer.add(toProductDTO(request));
+                if (buffer.size() >= ProductService.CREATE_BATCH_SIZE) {
+                    flush();
+                }
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                log.warn("CreateProducts stream aborted by client after {} products: {}", flushedCount, t.getMessage());
+            }
+
+            @Override
+            public void onCompleted() {
+                if (failed) {
+                    return;
+                }
+                flush();
+                if (!failed) {
+                    responseObserver.onNext(response.build());
+                    responseObserver.onCompleted();
+                }
+            }
+
+            private void flush() {
+                if (buffer.isEmpty()) {
+                    return;
+                }
+                try {
+                    for (ProductBatchItemResult result : productService.createProducts(buffer)) {
+                        CreateProductResult.Builder item = CreateProductResult.newBuilder()
+                                .setIndex(flushedCount + result.index());
+                        if (result.id() != null) {
+                            item.setId(result.id());
+                        }
+                        if (result.error() != null) {
+                            item.setError(result.error());
+                        }
+                        response.addResults(item);
+                    }
+                    flushedCount += buffer.size();
+                    buffer.clear();
+                } catch (RuntimeException e) {
+                    failed = true;
+                    log.error("Failed to create products batch starting at index {}", flushedCount, e);
+                    responseObserver.onError(Status.INTERNAL
+                            .withDescription("Failed to create products: " + e.getMessage())
+                            .asRuntimeException());
+                }
+            }
+        };
+    }
+
+    @Override
+    public void searchProducts(SearchProductsRequest request, StreamObserver<SearchProductsResponse> responseObserver) {
+        SearchProductsResponse.Builder responseBuilder = SearchProductsResponse.newBuilder();
+        productService.searchProducts(request.getQuery(), request.getLimit())
+                .forEach(productDTO -> responseBuilder.addProducts(mapToGrpcResponse(productDTO)));
+        responseObserver.onNext(responseBuilder.build());
+        responseObserver.onCompleted();
+    }
+
+    private ProductDTO toProductDTO(CreateProductRequest request) {
+        return ProductDTO.builder()
+                .productName(request.getProductName())
+                .description(request.getDescription())
+                .productPrice(BigDecimal.valueOf(request.getProductPrice()))
+                .stock_quantity(request.getStockQuantity())
+                // proto3 has no presence for scalars: an unset category_id arrives as 0
+                .categoryId(request.getCategoryId() != 0 ? request.getCategoryId() : null)
+                .build();
+    }
+
     private ProductResponse mapToGrpcResponse(ProductDTO productDTO) {
+        return productResponseCache.get(productDTO, this::buildGrpcResponse);
+    }
+
+    private ProductResponse buildGrpcResponse(ProductDTO productDTO) {
         ProductResponse.Builder builder = ProductResponse.newBuilder()
                 .setId(productDTO.getId())
                 .setProductName(productDTO.getProductName())
@@ -81,13 +214,12 @@ public class ProductServiceImpl extends ProductServiceGrpc.ProductServiceImplBas
             builder.setCategoryId(productDTO.getCategoryId());
         }
 
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
         if (productDTO.getCreatedAt() != null) {
-            builder.setCreatedAt(productDTO.getCreatedAt().format(formatter));
+            builder.setCreatedAt(productDTO.getCreatedAt().format(TIMESTAMP_FORMATTER));
         }
 
         if (productDTO.getUpdatedAt() != null) {
-            builder.setUpdatedAt(productDTO.getUpdatedAt().format(formatter));
+            builder.setUpdatedAt(productDTO.getUpdatedAt().format(TIMESTAMP_FORMATTER));
         }
 
         if (productDTO.getExternalId() != null) {
@@ -0,0 +1,137 @@
+package com.example.refactortask.grpc;
+
+import com.example.refactortask.grpc.v2.CreateProductRequest;
+import com.example.refactortask.grpc.v2.GetProductRequest;
+import com.example.refactortask.grpc.v2.ListProductsRequest;
+import com.example.refactortask.grpc.v2.ListProductsResponse;
+import com.example.refactortask.grpc.v2.Product;
+import com.example.refactortask.grpc.v2.ProductServiceGrpc;
+import com.example.refactortask.grpc.v2.StreamProductsRequest;
+import com.example.refactortask.model.dto.ProductDTO;
+import com.example.refactortask.model.dto.ProductPage;
+import com.example.refactortask.service.ProductService;
+import com.google.protobuf.Timestamp;
+import io.grpc.stub.StreamObserver;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.devh.boot.grpc.server.service.GrpcService;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * v2 of the product gRPC API ({@code product_v2.proto}), backed by the same {@link ProductService} as
+ * {@link ProductServiceImpl}. Prices travel as minor units and timestamps as {@link Timestamp}; local
+ * timestamps are interpreted in the server's default time zone, which is the zone they are written in.
+ */
+@GrpcService
+@RequiredArgsConstructor
+@Slf4j
+public class ProductServiceV2Impl extends ProductServiceGrpc.ProductServiceImplBase {
+
+    private static final int PRICE_SCALE = 2;
+
+    private final ProductService productService;
+
+    @Override
+    public void getProduct(GetProductRequest request, StreamObserver<Product> responseObserver) {
+        ProductDTO productDTO = productService.getProductById(request.getId());
+        responseObserver.onNext(mapToGrpcResponse(productDTO));
+        responseObserver.onCompleted();
+    }
+
+    @Override
+    public void listProducts(ListProductsRequest request, StreamObserver<ListProductsResponse> responseObserver) {
+        ListProductsResponse.Builder responseBuilder = ListProductsResponse.newBuilder();
+
+        if (request.getPageSize() == 0 && request.getPageToken().isEmpty()) {
+            productService.getAllProducts(false)
+                    .forEach(productDTO -> responseBuilder.addProducts(mapToGrpcResponse(productDTO)));
+        } else {
+            ProductPage page = productService.getProductPage(request.getPageToken(), null, request.getPageSize());
+            page.products().forEach(productDTO -> responseBuilder.addProducts(mapToGrpcResponse(productDTO)));
+            if (page.nextPageToken() != null) {
+                responseBuilder.setNextPageToken(page.nextPageToken());
+            }
+        }
+
+        responseObserver.onNext(responseBuilder.build());
+        responseObserver.onCompleted();
+    }
+
+    @Override
+    public void streamProducts(StreamProductsRequest request, StreamObserver<Product> responseObserver) {
+        ProductStreamDrainer.start(productService, responseObserver, request.getBatchSize(), this::mapToGrpcResponse);
+    }
+
+    @Override
+    public void createProduct(CreateProductRequest request, StreamObserver<Product> responseObserver) {
+        ProductDTO productDTO = ProductDTO.builder()
+                .productName(request.getProductName())
+                .description(request.getDescription())
+                .productPrice(BigDecimal.valueOf(request.getPriceMinorUnits(), PRICE_SCALE))
+                .stock_quantity(request.getStockQuantity())
+                .categoryId(request.getCategoryId() != 0 ? request.getCategoryId() : null)
+                .build();
+
+        responseObserver.onNext(mapToGrpcResponse(productService.createProduct(productDTO)));
+        responseObserver.onCompleted();
+    }
+
+    private Product mapToGrpcResponse(ProductDTO productDTO) {
+        Product.Builder builder = Product.newBuilder()
+                .setId(productDTO.getId())
+                .setProductName(productDTO.getProductName())
+                .setPriceMinorUnits(toMinorUnits(productDTO.getProductPrice()))
+                .setStockQuantity(productDTO.getStock_quantity())
+                .setIsInStock(productDTO.getIsInStock());
+
+        if (productDTO.getDescription() != null) {
+            builder.setDescription(productDTO.getDescription());
+        }
+
+        if (productDTO.getCategoryId() != null) {
+            builder.setCategoryId(productDTO.getCategoryId());
+        }
+
+        if (productDTO.getCreatedAt() != null) {
+            builder.setCreatedAt(toTimestamp(productDTO.getCreatedAt()));
+        }
+
+        if (productDTO.getUpdatedAt() != null) {
+            builder.setUpdatedAt(toTimestamp(productDTO.getUpdatedAt()));
+        }
+
+        if (productDTO.getExternalId() != null) {
+            builder.setExternalId(productDTO.getExternalId());
+        }
+
+        if (productDTO.getRating() != null) {
+            builder.setRating(productDTO.getRating());
+        }
+
+        if (productDTO.getRatingCount() != null) {
+            builder.setRatingCount(productDTO.getRatingCount());
+        }
+
+        if (productDTO.getImageUrl() != null) {
+            builder.setImageUrl(productDTO.getImageUrl());
+        }
+        return builder.build();
+    }
+
+    private static long toMinorUnits(BigDecimal price) {
+        return price.setScale(PRICE_SCALE, RoundingMode.HALF_EVEN).unscaledValue().longValueExact();
+    }
+
+    private static Timestamp toTimestamp(LocalDateTime dateTime) {
+        Instant instant = dateTime.atZone(ZoneId.systemDefault()).toInstant();
+        return Timestamp.newBuilder()
+                .setSeconds(instant.getEpochSecond())
+                .setNanos(instant.getNano())
+                .build();
+    }
+}
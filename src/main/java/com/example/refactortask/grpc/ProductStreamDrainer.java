@@ -0,0 +1,85 @@
+package com.example.refactortask.grpc;
+
+import com.example.refactortask.model.dto.ProductDTO;
+import com.example.refactortask.service.ProductService;
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Pulls pages lazily and writes them while {@link ServerCallStreamObserver#isReady()} holds. gRPC invokes the
+ * on-ready handler serially for a call, so the cursor state needs no synchronization. Shared by the product
+ * services of every API version; {@code mapper} turns a DTO into that version's message.
+ */
+@Slf4j
+final class ProductStreamDrainer<T> implements Runnable {
+
+    private static final int DEFAULT_BATCH_SIZE = 500;
+    private static final int MAX_BATCH_SIZE = 5000;
+
+    private final ProductService productService;
+    private final ServerCallStreamObserver<T> observer;
+    private final int batchSize;
+    private final Function<ProductDTO, T> mapper;
+    private Iterator<ProductDTO> page = Collections.emptyIterator();
+    private long cursor = 0L;
+    private volatile boolean done;
+
+    private ProductStreamDrainer(ProductService productService, ServerCallStreamObserver<T> observer, int batchSize,
+                                 Function<ProductDTO, T> mapper) {
+        this.productService = productService;
+        this.observer = observer;
+        this.batchSize = batchSize;
+        this.mapper = mapper;
+    }
+
+    /**
+     * Starts streaming the in-stock catalog, the same products ListProducts returns, to {@code responseObserver};
+     * a {@code requestedBatchSize} of 0 or less means the server default.
+     */
+    static <T> void start(ProductService productService, StreamObserver<T> responseObserver, int requestedBatchSize,
+                          Function<ProductDTO, T> mapper) {
+        ServerCallStreamObserver<T> serverObserver = (ServerCallStreamObserver<T>) responseObserver;
+        int batchSize = requestedBatchSize > 0 ? Math.min(requestedBatchSize, MAX_BATCH_SIZE) : DEFAULT_BATCH_SIZE;
+
+        ProductStreamDrainer<T> drainer = new ProductStreamDrainer<>(productService, serverObserver, batchSize, mapper);
+        serverObserver.setOnCancelHandler(drainer::cancel);
+        serverObserver.setOnReadyHandler(drainer);
+    }
+
+    @Override
+    public void run() {
+        try {
+            while (!done && observer.isReady()) {
+                if (!page.hasNext()) {
+                    List<ProductDTO> products = productService.getInStockProductsAfter(cursor, batchSize);
+                    if (products.isEmpty()) {
+                        done = true;
+                        observer.onCompleted();
+                        return;
+                    }
+                    cursor = products.get(products.size() - 1).getId();
+                    page = products.iterator();
+                }
+                observer.onNext(mapper.apply(page.next()));
+            }
+        } catch (RuntimeException e) {
+            log.error("Failed to stream products after id {}", cursor, e);
+            done = true;
+            observer.onError(Status.INTERNAL
+                    .withDescription("Failed to stream products: " + e.getMessage())
+                    .asRuntimeException());
+        }
+    }
+
+    private void cancel() {
+        log.debug("Product stream cancelled by client at id {}", cursor);
+        done = true;
+    }
+}
@@ -16,10 +16,12 @@ public interface ProductMapper {
     ProductDTO toDto(Product product);
 
     @Mapping(target = "category", ignore = true)
+    @Mapping(target = "syncHash", ignore = true)
     Product toEntity(ProductDTO productDTO);
 
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "category", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "syncHash", ignore = true)
     void updateProductFromDto(ProductDTO productDTO, @MappingTarget Product product);
 }
\ No newline at end of file
@@ -0,0 +1,41 @@
+package com.example.refactortask.model.dto;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * The external catalog as of one conditional fetch. {@code version} is the upstream validator (ETag or
+ * Last-Modified) and {@code notModified} is set when the upstream answered 304. Products are not held in memory;
+ * {@code products} yields them one at a time as they are parsed.
+ * <p>
+ * When the catalog could not be fetched at all (transport error, open circuit, full bulkhead) the snapshot is
+ * {@link #unavailable(String) unavailable}: it carries the reason and no products, and must not be read as an
+ * empty catalog.
+ */
+public record ExternalCatalogSnapshot(
+    String version,
+    boolean notModified,
+    Products products,
+    String unavailableReason
+) {
+    public ExternalCatalogSnapshot(String version, boolean notModified, Products products) {
+        this(version, notModified, products, null);
+    }
+
+    @FunctionalInterface
+    public interface Products {
+        void forEach(Consumer<ExternalProductDTO> action);
+    }
+
+    public static ExternalCatalogSnapshot of(String version, boolean notModified, List<ExternalProductDTO> products) {
+        return new ExternalCatalogSnapshot(version, notModified, products::forEach);
+    }
+
+    public static ExternalCatalogSnapshot unavailable(String reason) {
+        return new ExternalCatalogSnapshot(null, false, action -> { }, reason);
+    }
+
+    public boolean isAvailable() {
+        return unavailableReason == null;
+    }
+}
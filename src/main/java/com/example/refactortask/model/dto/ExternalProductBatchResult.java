@@ -0,0 +1,13 @@
+package com.example.refactortask.model.dto;
+
+import java.util.Map;
+
+/**
+ * Outcome of a bulk external lookup: the products that could be fetched, and the reason for every id that
+ * could not. Each requested id appears in exactly one of the two maps.
+ */
+public record ExternalProductBatchResult(
+    Map<Integer, ExternalProductDTO> products,
+    Map<Integer, Throwable> failures
+) {
+}
@@ -0,0 +1,26 @@
+package com.example.refactortask.model.dto;
+
+/**
+ * Outcome of one item of a batch create: the new product id on success, otherwise the reason it was rejected.
+ * {@code index} is the item's position in the request.
+ */
+public record ProductBatchItemResult(
+    int index,
+    Long id,
+    String error
+) {
+    public static ProductBatchItemResult created(int index, Long id) {
+        return new ProductBatchItemResult(index, id, null);
+    }
+
+    public static ProductBatchItemResult rejected(int index, String error) {
+        return new ProductBatchItemResult(index, null, error);
+    }
+
+    /**
+     * The same result with {@code index} moved by {@code offset}, for results of a chunk of a larger request.
+     */
+    public ProductBatchItemResult shiftedBy(int offset) {
+        return new ProductBatchItemResult(index + offset, id, error);
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.refactortask.model.dto;
+
+import java.util.List;
+
+/**
+ * One keyset page of products. {@code nextPageToken} is null when there are no further pages.
+ */
+public record ProductPage(
+    List<ProductDTO> products,
+    String nextPageToken
+) {
+}
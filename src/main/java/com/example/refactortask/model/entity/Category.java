@@ -8,7 +8,9 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "CATEGORIES")
+@Table(name = "CATEGORIES", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_categories_name", columnNames = "name")
+})
 @Getter
 @Setter
 public class Category {
@@ -17,7 +19,8 @@ public class Category {
     @GeneratedValue(strategy = GenerationType.AUTO)
     private Long categoryId;
 
-    @Column(nullable = false, unique = true)
+    // Unique constraint above doubles as the index behind name lookups
+    @Column(nullable = false)
     private String name;
 
     private String description;
@@ -1,5 +1,6 @@
 package com.example.refactortask.model.entity;
 
+import com.example.refactortask.service.ProductSearchIndexListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -10,15 +11,23 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "products")
+@EntityListeners(ProductSearchIndexListener.class)
+@Table(name = "products", indexes = {
+        @Index(name = "idx_products_category", columnList = "category_id, id"),
+        @Index(name = "idx_products_price", columnList = "product_price"),
+        @Index(name = "idx_products_in_stock", columnList = "is_in_stock, id")
+})
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class Product {
 
+    // Pooled sequence instead of IDENTITY: ids are allocated 50 at a time without a round-trip per insert,
+    // which lets Hibernate batch inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "products_seq")
+    @SequenceGenerator(name = "products_seq", sequenceName = "products_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "product_name", nullable = false)
@@ -33,7 +42,9 @@ public class Product {
     @Column(name = "stock")
     private Integer stock_quantity;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    // Lazy: product read paths only need the category id, which lives on this row and is selected directly
+    // (see ProductRepository.SELECT_PRODUCT_DTO)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "category_id")
     private Category category;
 
@@ -46,6 +57,23 @@ public class Product {
     @Column(name = "is_in_stock")
     private Boolean isInStock;
 
+    // Enrichment from the external Fake Store API
+    @Column(name = "external_id")
+    private String externalId;
+
+    @Column(name = "rating")
+    private Double rating;
+
+    @Column(name = "rating_count")
+    private Integer ratingCount;
+
+    @Column(name = "image_url", length = 1000)
+    private String imageUrl;
+
+    // Content hash of the enrichment fields above, used by the sync to skip unchanged rows
+    @Column(name = "sync_hash", length = 64)
+    private String syncHash;
+
     @PrePersist
     public void prePersist() {
         createdAt = LocalDateTime.now();
@@ -0,0 +1,56 @@
+package com.example.refactortask.model.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One execution of the external catalog sync, kept for auditing and tuning.
+ */
+@Entity
+@Table(name = "sync_runs")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyncRun {
+
+    public enum Status { RUNNING, SUCCEEDED, UNCHANGED, FAILED }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 16)
+    private Status status;
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    @Column(name = "duration_ms")
+    private Long durationMs;
+
+    // Upstream ETag/Last-Modified of the catalog this run processed
+    @Column(name = "source_version")
+    private String sourceVersion;
+
+    @Column(name = "external_products")
+    private Integer externalProducts;
+
+    @Column(name = "rows_scanned")
+    private Integer rowsScanned;
+
+    @Column(name = "rows_changed")
+    private Integer rowsChanged;
+
+    @Column(name = "error_message", length = 1000)
+    private String errorMessage;
+}
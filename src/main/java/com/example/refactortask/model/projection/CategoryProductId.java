@@ -0,0 +1,11 @@
+package com.example.refactortask.model.projection;
+
+/**
+ * One (category, product) pair, used to build the product id list of many categories in a single query.
+ */
+public interface CategoryProductId {
+
+    Long getCategoryId();
+
+    Long getProductId();
+}
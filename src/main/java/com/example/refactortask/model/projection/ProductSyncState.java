@@ -0,0 +1,13 @@
+package com.example.refactortask.model.projection;
+
+/**
+ * The columns the sync engine needs to decide whether a product changed, without hydrating the entity.
+ */
+public interface ProductSyncState {
+
+    Long getId();
+
+    String getProductName();
+
+    String getSyncHash();
+}
@@ -3,6 +3,17 @@ package com.example.refactortask.repository;
 import com.example.refactortask.model.entity.Category;
 import org.springframework.data.repository.CrudRepository;
 
+import java.util.List;
 import java.util.Optional;
 
-public interface CategoryRepository extends CrudRepository<Category, Long> { }
\ No newline at end of file
+public interface CategoryRepository extends CrudRepository<Category, Long> {
+
+    /**
+     * Served by the {@code uk_categories_name} unique index.
+     */
+    Optional<Category> findByName(String name);
+
+    boolean existsByName(String name);
+
+    List<Category> findAllByOrderByCategoryIdAsc();
+}
@@ -1,15 +1,102 @@
 package com.example.refactortask.repository;
 
+import com.example.refactortask.model.dto.ProductDTO;
 import com.example.refactortask.model.entity.Product;
+import com.example.refactortask.model.projection.CategoryProductId;
+import com.example.refactortask.model.projection.ProductSyncState;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Long> {
 
+    /**
+     * Constructor projection shared by the read paths below: rows are selected straight into {@link ProductDTO},
+     * so no managed entities, dirty-checking snapshots or lazy proxies are created. The left join keeps products
+     * without a category and is resolved on the foreign key column.
+     */
+    String SELECT_PRODUCT_DTO = "SELECT new com.example.refactortask.model.dto.ProductDTO("
+            + "p.id, p.productName, p.description, p.productPrice, p.stock_quantity, c.categoryId, "
+            + "p.createdAt, p.updatedAt, p.isInStock, p.externalId, p.rating, p.ratingCount, p.imageUrl) "
+            + "FROM Product p LEFT JOIN p.category c ";
+
     @Override
     @Query("SELECT p FROM Product p WHERE p.id = :id")
     public Product getById(Long id);
 
-}
\ No newline at end of file
+    @Query(SELECT_PRODUCT_DTO + "WHERE p.id = :id")
+    ProductDTO findDtoById(@Param("id") Long id);
+
+    @Query(SELECT_PRODUCT_DTO + "WHERE p.id IN :ids")
+    List<ProductDTO> findDtosByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(SELECT_PRODUCT_DTO + "WHERE p.isInStock = true ORDER BY p.id")
+    List<ProductDTO> findInStockDtos();
+
+    /**
+     * Keyset page over the primary key: returns up to {@code limit} products with an id strictly greater than
+     * {@code afterId}, in id order. Cost per page does not depend on how deep the cursor is.
+     */
+    @Query(SELECT_PRODUCT_DTO + "WHERE p.id > :afterId ORDER BY p.id")
+    List<ProductDTO> findDtosAfter(@Param("afterId") Long afterId, Limit limit);
+
+    /**
+     * Keyset page of the products that {@code getAllProducts} lists, i.e. the ones with stock left.
+     */
+    @Query(SELECT_PRODUCT_DTO + "WHERE p.isInStock = true AND p.id > :afterId ORDER BY p.id")
+    List<ProductDTO> findInStockDtosAfter(@Param("afterId") Long afterId, Limit limit);
+
+    // Filters on the foreign key column of products, so idx_products_category applies; c.categoryId would filter
+    // on the joined table instead
+    @Query(SELECT_PRODUCT_DTO + "WHERE p.category.categoryId = :categoryId ORDER BY p.id")
+    List<ProductDTO> findDtosByCategoryId(@Param("categoryId") Long categoryId);
+
+    @Query(SELECT_PRODUCT_DTO + "WHERE LOWER(p.productName) LIKE LOWER(CONCAT('%', :name, '%')) ORDER BY p.id")
+    List<ProductDTO> findDtosByNameContainingIgnoreCase(@Param("name") String name);
+
+    @Query(SELECT_PRODUCT_DTO + "WHERE p.productPrice < :price ORDER BY p.id")
+    List<ProductDTO> findDtosByPriceLessThan(@Param("price") BigDecimal price);
+
+    /**
+     * Product ids of the given categories in a single grouped read, instead of initializing
+     * {@code Category.products} once per category.
+     */
+    @Query("SELECT p.category.categoryId AS categoryId, p.id AS productId FROM Product p "
+            + "WHERE p.category.categoryId IN :categoryIds ORDER BY p.id")
+    List<CategoryProductId> findProductIdsByCategoryIds(@Param("categoryIds") Collection<Long> categoryIds);
+
+    @Query("SELECT p.category.categoryId AS categoryId, p.id AS productId FROM Product p "
+            + "WHERE p.category IS NOT NULL ORDER BY p.id")
+    List<CategoryProductId> findAllCategoryProductIds();
+
+    /**
+     * Unlinks every product from a category in one statement, so the category can be deleted without loading
+     * and cascading over its product collection.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Product p SET p.category = null, p.updatedAt = LOCAL DATETIME WHERE p.category.categoryId = :categoryId")
+    int detachFromCategory(@Param("categoryId") Long categoryId);
+
+    /**
+     * Keyset page of sync state in id order, used to load every local title into the sync's title matcher.
+     */
+    @Query("SELECT p.id AS id, p.productName AS productName, p.syncHash AS syncHash "
+            + "FROM Product p WHERE p.id > :afterId ORDER BY p.id")
+    List<ProductSyncState> findSyncStateAfter(@Param("afterId") Long afterId, Limit limit);
+
+    /**
+     * Sync state of the given products; no entities are hydrated.
+     */
+    @Query("SELECT p.id AS id, p.productName AS productName, p.syncHash AS syncHash "
+            + "FROM Product p WHERE p.id IN :ids")
+    List<ProductSyncState> findSyncStateByIdIn(@Param("ids") Collection<Long> ids);
+
+}
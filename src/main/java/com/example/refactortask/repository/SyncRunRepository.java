@@ -0,0 +1,15 @@
+package com.example.refactortask.repository;
+
+import com.example.refactortask.model.entity.SyncRun;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface SyncRunRepository extends JpaRepository<SyncRun, Long> {
+
+    Optional<SyncRun> findFirstByOrderByStartedAtDesc();
+
+    Optional<SyncRun> findFirstByStatusOrderByStartedAtDesc(SyncRun.Status status);
+}
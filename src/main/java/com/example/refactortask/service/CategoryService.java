@@ -0,0 +1,126 @@
+package com.example.refactortask.service;
+
+import com.example.refactortask.exception.InvalidCategoryException;
+import com.example.refactortask.exception.ResourceNotFoundException;
+import com.example.refactortask.model.dto.CategoryDTO;
+import com.example.refactortask.model.entity.Category;
+import com.example.refactortask.model.projection.CategoryProductId;
+import com.example.refactortask.repository.CategoryRepository;
+import com.example.refactortask.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Category reads and writes. Product ids are never taken from the lazy {@code Category.products} collection;
+ * they come from one grouped (categoryId, productId) query per call, however many categories are returned.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CategoryService {
+
+    private final CategoryRepository categoryRepository;
+    private final ProductRepository productRepository;
+    private final ProductCache productCache;
+
+    @Transactional(readOnly = true)
+    public CategoryDTO getCategory(Long id) {
+        Category category = categoryRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Category", "id", id));
+        return withProductIds(category);
+    }
+
+    @Transactional(readOnly = true)
+    public CategoryDTO getCategoryByName(String name) {
+        Category category = categoryRepository.findByName(name)
+                .orElseThrow(() -> new ResourceNotFoundException("Category", "name", name));
+        return withProductIds(category);
+    }
+
+    @Transactional(readOnly = true)
+    public List<CategoryDTO> getAllCategories() {
+        Map<Long, List<Long>> productIds = groupByCategory(productRepository.findAllCategoryProductIds());
+        List<CategoryDTO> categories = new ArrayList<>();
+        for (Category category : categoryRepository.findAllByOrderByCategoryIdAsc()) {
+            categories.add(toDto(category, productIds.getOrDefault(category.getCategoryId(), List.of())));
+        }
+        return categories;
+    }
+
+    @Transactional
+    public CategoryDTO createCategory(String name, String description) {
+        if (name == null || name.isBlank()) {
+            throw new InvalidCategoryException("Category name is required");
+        }
+        if (categoryRepository.existsByName(name)) {
+            throw new InvalidCategoryException(String.format("Category already exists with name: '%s'", name));
+        }
+        log.info("Creating category: {}", name);
+        Category category = new Category();
+        category.setName(name);
+        category.setDescription(description);
+        return toDto(categoryRepository.save(category), List.of());
+    }
+
+    /**
+     * Updates the given fields; a {@code null} or empty value leaves the current one in place.
+     */
+    @Transactional
+    public CategoryDTO updateCategory(Long id, String name, String description) {
+        Category category = categoryRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Category", "id", id));
+        if (name != null && !name.isBlank() && !name.equals(category.getName())) {
+            if (categoryRepository.existsByName(name)) {
+                throw new InvalidCategoryException(String.format("Category already exists with name: '%s'", name));
+            }
+            category.setName(name);
+        }
+        if (description != null && !description.isEmpty()) {
+            category.setDescription(description);
+        }
+        return withProductIds(category);
+    }
+
+    /**
+     * Deletes a category. Its products are kept and left without a category.
+     *
+     * @return {@code false} when no category with this id exists
+     */
+    @Transactional
+    public boolean deleteCategory(Long id) {
+        if (!categoryRepository.existsById(id)) {
+            return false;
+        }
+        int detached = productRepository.detachFromCategory(id);
+        categoryRepository.deleteById(id);
+        log.info("Deleted category {}, detached {} products", id, detached);
+        if (detached > 0) {
+            productCache.invalidateAllAfterCommit();
+        }
+        return true;
+    }
+
+    private CategoryDTO withProductIds(Category category) {
+        List<CategoryProductId> pairs = productRepository.findProductIdsByCategoryIds(List.of(category.getCategoryId()));
+        return toDto(category, groupByCategory(pairs).getOrDefault(category.getCategoryId(), List.of()));
+    }
+
+    private static Map<Long, List<Long>> groupByCategory(List<CategoryProductId> pairs) {
+        Map<Long, List<Long>> productIds = new HashMap<>();
+        for (CategoryProductId pair : pairs) {
+            productIds.computeIfAbsent(pair.getCategoryId(), key -> new ArrayList<>()).add(pair.getProductId());
+        }
+        return productIds;
+    }
+
+    private static CategoryDTO toDto(Category category, List<Long> productIds) {
+        return new CategoryDTO(category.getCategoryId(), category.getName(), category.getDescription(), productIds);
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.refactortask.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Matches only titles that are equal after {@link TitleMatcher#normalize(String) normalization}.
+ */
+public class ExactTitleMatcher implements TitleMatcher {
+
+    private final Map<String, List<Long>> productIdsByTitle = new HashMap<>();
+
+    @Override
+    public void add(long productId, String title) {
+        String normalized = TitleMatcher.normalize(title);
+        if (!normalized.isEmpty()) {
+            productIdsByTitle.computeIfAbsent(normalized, key -> new ArrayList<>(1)).add(productId);
+        }
+    }
+
+    @Override
+    public Optional<Match> bestMatch(String title) {
+        return Optional.ofNullable(productIdsByTitle.get(TitleMatcher.normalize(title)))
+                .map(productIds -> new Match(productIds, 1.0));
+    }
+}
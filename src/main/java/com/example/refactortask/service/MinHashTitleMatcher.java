@@ -0,0 +1,246 @@
+package com.example.refactortask.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Similarity matcher over character trigrams of {@link TitleMatcher#normalize(String) normalized} titles.
+ * <p>
+ * The score is the Jaccard similarity of two titles' trigram sets and only titles scoring at least
+ * {@code threshold} match. Titles that normalize to the same string are answered from a hash lookup with score 1.
+ * <p>
+ * Lookups never scan all titles: candidates come from MinHash locality-sensitive hashing. Each title gets a
+ * signature of {@value #BANDS} bands of {@code rows} min-hashes; two titles become candidates when any band is
+ * equal, which happens with probability {@code 1 - (1 - J^rows)^BANDS} for Jaccard similarity {@code J}.
+ * {@code rows} is derived from the threshold so that a title exactly at the threshold is missed less than
+ * {@value #MISS_RATE_AT_THRESHOLD} of the time, while dissimilar titles almost never collide. Each band is an
+ * open-addressing hash table of (band hash, title) entries packed into longs, so a lookup costs {@value #BANDS}
+ * short probe sequences plus an exact Jaccard check of the few candidates, independent of how many titles are
+ * indexed.
+ */
+public class MinHashTitleMatcher implements TitleMatcher {
+
+    private static final int BANDS = 16;
+    private static final int MAX_ROWS = 8;
+    private static final double MISS_RATE_AT_THRESHOLD = 1e-3;
+    private static final double EPSILON = 1e-9;
+
+    // Band entries pack the top 40 bits of the band hash above a 24-bit title index plus one, so 0 marks a free slot
+    private static final int TITLE_BITS = 24;
+    private static final long TITLE_MASK = (1L << TITLE_BITS) - 1;
+    private static final int INITIAL_TABLE_BITS = 6;
+
+    private final double threshold;
+    private final int rows;
+    private final Map<String, Integer> titleIndexes = new HashMap<>();
+    private final List<List<Long>> productIdsByTitle = new ArrayList<>();
+    private final List<int[]> trigramsByTitle = new ArrayList<>();
+    private long[][] bandTables = new long[BANDS][1 << INITIAL_TABLE_BITS];
+    private int tableBits = INITIAL_TABLE_BITS;
+
+    // Per-lookup dedup of candidates without allocating a set: a title was seen when its stamp equals the epoch
+    private int[] seenStamps = new int[1 << INITIAL_TABLE_BITS];
+    private int epoch;
+
+    public MinHashTitleMatcher(double threshold) {
+        if (threshold <= 0 || threshold > 1) {
+            throw new IllegalArgumentException("Title match threshold must be in (0, 1], got " + threshold);
+        }
+        this.threshold = threshold;
+        this.rows = threshold == 1 ? MAX_ROWS : (int) Math.max(1, Math.min(MAX_ROWS,
+                Math.floor(Math.log(1 - Math.pow(MISS_RATE_AT_THRESHOLD, 1.0 / BANDS)) / Math.log(threshold))));
+    }
+
+    @Override
+    public void add(long productId, String title) {
+        String normalized = TitleMatcher.normalize(title);
+        if (normalized.isEmpty()) {
+            return;
+        }
+        Integer existing = titleIndexes.get(normalized);
+        if (existing != null) {
+            productIdsByTitle.get(existing).add(productId);
+            return;
+        }
+
+        int titleIndex = trigramsByTitle.size();
+        if (titleIndex >= TITLE_MASK) {
+            throw new IllegalStateException("At most " + (TITLE_MASK + 1) + " distinct titles can be indexed");
+        }
+        titleIndexes.put(normalized, titleIndex);
+        List<Long> productIds = new ArrayList<>(1);
+        productIds.add(productId);
+        productIdsByTitle.add(productIds);
+        int[] trigrams = trigrams(normalized);
+        trigramsByTitle.add(trigrams);
+
+        // Keep every table at most half full so probe sequences stay short
+        if (titleIndex + 1 > (1 << tableBits) / 2) {
+            resize(tableBits + 1);
+        }
+        long[] bandHashes = bandHashes(trigrams);
+        for (int band = 0; band < BANDS; band++) {
+            insert(bandTables[band], (bandHashes[band] & ~TITLE_MASK) | (titleIndex + 1));
+        }
+    }
+
+    @Override
+    public Optional<Match> bestMatch(String title) {
+        String normalized = TitleMatcher.normalize(title);
+        if (normalized.isEmpty()) {
+            return Optional.empty();
+        }
+        Integer exact = titleIndexes.get(normalized);
+        if (exact != null) {
+            return Optional.of(match(exact, 1.0));
+        }
+
+        int[] query = trigrams(normalized);
+        long[] bandHashes = bandHashes(query);
+        nextEpoch();
+        int bestTitle = -1;
+        double bestScore = 0;
+        for (int band = 0; band < BANDS; band++) {
+            long[] table = bandTables[band];
+            long key = bandHashes[band] & ~TITLE_MASK;
+            int mask = table.length - 1;
+            for (int slot = slot(key); table[slot] != 0; slot = (slot + 1) & mask) {
+                if ((table[slot] & ~TITLE_MASK) != key) {
+                    continue;
+                }
+                int candidate = (int) (table[slot] & TITLE_MASK) - 1;
+                if (seenStamps[candidate] == epoch) {
+                    continue;
+                }
+                seenStamps[candidate] = epoch;
+                double score = jaccard(query, trigramsByTitle.get(candidate));
+                if (score > bestScore || (score == bestScore && candidate < bestTitle)) {
+                    bestScore = score;
+                    bestTitle = candidate;
+                }
+            }
+        }
+        return bestTitle >= 0 && bestScore >= threshold - EPSILON
+                ? Optional.of(match(bestTitle, bestScore))
+                : Optional.empty();
+    }
+
+    private Match match(int titleIndex, double score) {
+        return new Match(Collections.unmodifiableList(productIdsByTitle.get(titleIndex)), score);
+    }
+
+    private int slot(long entry) {
+        return (int) (entry >>> (Long.SIZE - tableBits));
+    }
+
+    private void insert(long[] table, long entry) {
+        int mask = table.length - 1;
+        int slot = slot(entry);
+        while (table[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        table[slot] = entry;
+    }
+
+    private void resize(int bits) {
+        long[][] previous = bandTables;
+        tableBits = bits;
+        bandTables = new long[BANDS][1 << bits];
+        for (int band = 0; band < BANDS; band++) {
+            for (long entry : previous[band]) {
+                if (entry != 0) {
+                    insert(bandTables[band], entry);
+                }
+            }
+        }
+        seenStamps = Arrays.copyOf(seenStamps, 1 << bits);
+    }
+
+    private void nextEpoch() {
+        if (epoch == Integer.MAX_VALUE) {
+            Arrays.fill(seenStamps, 0);
+            epoch = 0;
+        }
+        epoch++;
+    }
+
+    /**
+     * One hash per band over that band's {@code rows} min-hashes. The min-hashes are simulated from two hashes
+     * per trigram ({@code h1 + i * h2}), which is much cheaper than {@code BANDS * rows} independent hash functions.
+     */
+    private long[] bandHashes(int[] trigrams) {
+        int hashCount = BANDS * rows;
+        long[] minHashes = new long[hashCount];
+        Arrays.fill(minHashes, Long.MAX_VALUE);
+        for (int trigram : trigrams) {
+            long h1 = mix(trigram);
+            long h2 = mix(h1) | 1;
+            long value = h1;
+            for (int i = 0; i < hashCount; i++) {
+                minHashes[i] = Math.min(minHashes[i], value);
+                value += h2;
+            }
+        }
+
+        long[] bandHashes = new long[BANDS];
+        for (int band = 0; band < BANDS; band++) {
+            long hash = band;
+            for (int row = 0; row < rows; row++) {
+                hash = mix(hash ^ minHashes[band * rows + row]);
+            }
+            bandHashes[band] = hash;
+        }
+        return bandHashes;
+    }
+
+    private static double jaccard(int[] left, int[] right) {
+        int overlap = 0;
+        int i = 0;
+        int j = 0;
+        while (i < left.length && j < right.length) {
+            if (left[i] == right[j]) {
+                overlap++;
+                i++;
+                j++;
+            } else if (left[i] < right[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return (double) overlap / (left.length + right.length - overlap);
+    }
+
+    /**
+     * Sorted, distinct trigram hashes of the title padded with one space on each side, so word starts and ends
+     * count as trigrams too.
+     */
+    static int[] trigrams(String normalized) {
+        String padded = " " + normalized + " ";
+        int[] trigrams = new int[padded.length() - 2];
+        for (int i = 0; i < trigrams.length; i++) {
+            long code = ((long) padded.charAt(i) << 32) | ((long) padded.charAt(i + 1) << 16) | padded.charAt(i + 2);
+            trigrams[i] = (int) mix(code);
+        }
+        Arrays.sort(trigrams);
+        int distinct = 0;
+        for (int i = 0; i < trigrams.length; i++) {
+            if (i == 0 || trigrams[i] != trigrams[i - 1]) {
+                trigrams[distinct++] = trigrams[i];
+            }
+        }
+        return Arrays.copyOf(trigrams, distinct);
+    }
+
+    // SplitMix64 finalizer
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+        value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+        return value ^ (value >>> 31);
+    }
+}
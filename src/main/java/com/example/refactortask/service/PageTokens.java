@@ -0,0 +1,39 @@
+package com.example.refactortask.service;
+
+import com.example.refactortask.exception.InvalidPageTokenException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Encodes keyset cursors as opaque continuation tokens so clients don't depend on the cursor being a raw id.
+ */
+public final class PageTokens {
+
+    private static final String PREFIX = "p1:";
+
+    private PageTokens() {
+    }
+
+    public static String encode(long lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((PREFIX + lastId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static long decode(String token) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidPageTokenException(token, e);
+        }
+        if (!raw.startsWith(PREFIX)) {
+            throw new InvalidPageTokenException(token);
+        }
+        try {
+            return Long.parseLong(raw.substring(PREFIX.length()));
+        } catch (NumberFormatException e) {
+            throw new InvalidPageTokenException(token, e);
+        }
+    }
+}
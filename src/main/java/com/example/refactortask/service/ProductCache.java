@@ -0,0 +1,76 @@
+package com.example.refactortask.service;
+
+import com.example.refactortask.model.dto.ProductDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.function.Function;
+
+/**
+ * Bounded read-through cache in front of by-id product reads (Caffeine, W-TinyLFU eviction).
+ * Cached DTOs are shared between callers and must be treated as read-only. Listings are not cached: they are
+ * read as keyset pages, and a cached copy of the whole catalog would pin memory proportional to the table.
+ * Hits, misses, evictions and size are published as {@code cache.*} meters tagged {@code cache=products}.
+ */
+@Component
+@Slf4j
+public class ProductCache implements MeterBinder {
+
+    private static final String CACHE_NAME = "products";
+
+    private final boolean enabled;
+    private final Cache<Long, ProductDTO> productsById;
+
+    public ProductCache(@Value("${product.cache.enabled:true}") boolean enabled,
+                        @Value("${product.cache.max-entries:10000}") long maxEntries,
+                        @Value("${product.cache.ttl:5m}") Duration ttl) {
+        this.enabled = enabled;
+        this.productsById = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        log.info("Product cache enabled={}, maxEntries={}, ttl={}", enabled, maxEntries, ttl);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, productsById, CACHE_NAME);
+    }
+
+    public ProductDTO getById(Long id, Function<Long, ProductDTO> loader) {
+        return enabled ? productsById.get(id, loader) : loader.apply(id);
+    }
+
+    /**
+     * Drops every cached entry once the surrounding transaction commits.
+     */
+    public void invalidateAllAfterCommit() {
+        // After commit, so a concurrent reader can't re-cache rows that are about to change
+        TransactionHooks.afterCommit(this::invalidateAll);
+    }
+
+    /**
+     * Drops the given ids once the surrounding transaction commits.
+     */
+    public void invalidateAfterCommit(Collection<Long> ids) {
+        TransactionHooks.afterCommit(() -> productsById.invalidateAll(ids));
+    }
+
+    public void invalidateAll() {
+        productsById.invalidateAll();
+    }
+
+    public CacheStats byIdStats() {
+        return productsById.stats();
+    }
+}
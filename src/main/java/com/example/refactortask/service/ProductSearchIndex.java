@@ -0,0 +1,177 @@
+package com.example.refactortask.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * In-memory inverted index over product names and descriptions.
+ * <p>
+ * Text is lower-cased and split on anything that is not a letter or digit. Terms are kept in sorted order, so
+ * a query token of at least {@value #MIN_PREFIX_LENGTH} characters also matches as a prefix ("lap" finds "laptop")
+ * through a range scan of the term dictionary instead of a scan over products. Shorter tokens only match the exact
+ * term: "a" or "la" would otherwise expand to a large part of the dictionary and merge the postings of nearly
+ * every product. A product must match every query token; its score is the sum, per token, of
+ * the best matching term's weight: {@value #NAME_WEIGHT} per occurrence in the name, {@value #DESCRIPTION_WEIGHT}
+ * per occurrence in the description, halved for prefix-only matches.
+ * <p>
+ * The index only holds ids. It is rebuilt at startup by {@link ProductService} and kept current by
+ * {@link ProductSearchIndexListener}.
+ */
+@Component
+public class ProductSearchIndex {
+
+    private static final int NAME_WEIGHT = 3;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final double PREFIX_MATCH_FACTOR = 0.5;
+    private static final int MIN_PREFIX_LENGTH = 3;
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    public record SearchHit(long productId, double score) {
+    }
+
+    private static final Comparator<SearchHit> RANKING = Comparator.comparingDouble(SearchHit::score).reversed()
+            .thenComparingLong(SearchHit::productId);
+
+    private final NavigableMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+    private final Map<Long, Set<String>> termsByProduct = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Adds a product, replacing whatever was indexed for its id before.
+     */
+    public void index(long productId, String name, String description) {
+        Map<String, Integer> weights = new HashMap<>();
+        tokens(name).forEach(term -> weights.merge(term, NAME_WEIGHT, Integer::sum));
+        tokens(description).forEach(term -> weights.merge(term, DESCRIPTION_WEIGHT, Integer::sum));
+
+        lock.writeLock().lock();
+        try {
+            removeTerms(productId);
+            weights.forEach((term, weight) -> postings.computeIfAbsent(term, key -> new HashMap<>()).put(productId, weight));
+            termsByProduct.put(productId, weights.keySet());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long productId) {
+        lock.writeLock().lock();
+        try {
+            removeTerms(productId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            termsByProduct.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return termsByProduct.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} matches, best first; ties are broken by id.
+     */
+    public List<SearchHit> search(String query, int limit) {
+        List<String> queryTokens = tokens(query).distinct().toList();
+        if (queryTokens.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        Map<Long, Double> scores = null;
+        lock.readLock().lock();
+        try {
+            for (String token : queryTokens) {
+                Map<Long, Double> tokenScores = scoreToken(token);
+                if (scores == null) {
+                    scores = tokenScores;
+                } else {
+                    scores.keySet().retainAll(tokenScores.keySet());
+                    scores.replaceAll((productId, score) -> score + tokenScores.get(productId));
+                }
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return topHits(scores, limit);
+    }
+
+    private Map<Long, Double> scoreToken(String token) {
+        Map<Long, Double> tokenScores = new HashMap<>();
+        if (token.length() < MIN_PREFIX_LENGTH) {
+            postings.getOrDefault(token, Map.of()).forEach((productId, weight) -> tokenScores.put(productId, (double) weight));
+            return tokenScores;
+        }
+        for (Map.Entry<String, Map<Long, Integer>> entry
+                : postings.subMap(token, true, token + Character.MAX_VALUE, true).entrySet()) {
+            double factor = entry.getKey().equals(token) ? 1.0 : PREFIX_MATCH_FACTOR;
+            entry.getValue().forEach((productId, weight) -> tokenScores.merge(productId, weight * factor, Math::max));
+        }
+        return tokenScores;
+    }
+
+    private static List<SearchHit> topHits(Map<Long, Double> scores, int limit) {
+        // Min-heap on ranking keeps only the best `limit` hits
+        PriorityQueue<SearchHit> best = new PriorityQueue<>(limit + 1, RANKING.reversed());
+        scores.forEach((productId, score) -> {
+            best.add(new SearchHit(productId, score));
+            if (best.size() > limit) {
+                best.poll();
+            }
+        });
+        List<SearchHit> hits = new ArrayList<>(best);
+        hits.sort(RANKING);
+        return hits;
+    }
+
+    private void removeTerms(long productId) {
+        Set<String> terms = termsByProduct.remove(productId);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            Map<Long, Integer> products = postings.get(term);
+            products.remove(productId);
+            if (products.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+    }
+
+    static Stream<String> tokens(String text) {
+        if (text == null || text.isEmpty()) {
+            return Stream.empty();
+        }
+        return TOKEN_SEPARATOR.splitAsStream(text.toLowerCase(Locale.ROOT)).filter(token -> !token.isEmpty());
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.refactortask.service;
+
+import com.example.refactortask.model.entity.Product;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA listener on {@link Product} that mirrors every committed insert, update and delete into
+ * {@link ProductSearchIndex}, whichever path wrote it (service, batch create, sync). JPQL bulk updates bypass
+ * entity listeners and must not change indexed fields.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProductSearchIndexListener {
+
+    private final ProductSearchIndex productSearchIndex;
+
+    @PostPersist
+    @PostUpdate
+    public void productSaved(Product product) {
+        long productId = product.getId();
+        String name = product.getProductName();
+        String description = product.getDescription();
+        TransactionHooks.afterCommit(() -> productSearchIndex.index(productId, name, description));
+    }
+
+    @PostRemove
+    public void productRemoved(Product product) {
+        long productId = product.getId();
+        TransactionHooks.afterCommit(() -> productSearchIndex.remove(productId));
+    }
+}
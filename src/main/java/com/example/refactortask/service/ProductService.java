@@ -1,28 +1,53 @@
 package com.example.refactortask.service;
 
-import com.example.refactortask.client.FakeStoreApiClient;
 import com.example.refactortask.exception.ResourceNotFoundException;
 import com.example.refactortask.mapper.ProductMapper;
-import com.example.refactortask.model.dto.ExternalProductDTO;
+import com.example.refactortask.model.dto.ProductBatchItemResult;
 import com.example.refactortask.model.dto.ProductDTO;
+import com.example.refactortask.model.dto.ProductPage;
 import com.example.refactortask.model.entity.Category;
 import com.example.refactortask.model.entity.Product;
 import com.example.refactortask.repository.CategoryRepository;
 import com.example.refactortask.repository.ProductRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Component
 @Slf4j
+// Every public method is timed as product.service, tagged with class and method; calls from within the class are not
+@Timed(value = "product.service", description = "ProductService method latency")
 public class ProductService {
 
+	public static final int DEFAULT_PAGE_SIZE = 100;
+	public static final int MAX_PAGE_SIZE = 1000;
+	public static final int DEFAULT_SEARCH_LIMIT = 20;
+	// Most products written by one createProducts transaction; bulk callers split larger requests
+	public static final int CREATE_BATCH_SIZE = 1000;
+
 	@Autowired
 	private ProductRepository productRepository;
 
@@ -33,31 +58,151 @@ public class ProductService {
 	private ProductMapper productMapper;
 
 	@Autowired
-	private FakeStoreApiClient fakeStoreApiClient;
+	private ProductCache productCache;
+
+	@Autowired
+	private ProductSyncEngine productSyncEngine;
+
+	@Autowired
+	private ProductSearchIndex productSearchIndex;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+	private int jdbcBatchSize;
+
+	@Autowired
+	@Qualifier("productSyncExecutor")
+	private Executor productSyncExecutor;
 
 	public List<ProductDTO> getAllProducts(boolean refresh) {
 		if(refresh){
 			syncWithFakeApi();
 		}
-		List<Product> products = productRepository.findAll();
+		// Read paths select straight into ProductDTO (see ProductRepository.SELECT_PRODUCT_DTO); no entities are hydrated
+		return productRepository.findInStockDtos();
+	}
 
-		products.stream().forEach(product -> {
-			log.info("Processing product: {}", product.getProductName());
-			if (product.getStock_quantity() <= 0) {
-				products.remove(product);
-			}
-		});
+	@Transactional(readOnly = true)
+	public List<ProductDTO> searchProductsByName(String name) {
+		return productRepository.findDtosByNameContainingIgnoreCase(name);
+	}
+
+	/**
+	 * Ranked full-text search over product names and descriptions, served from {@link ProductSearchIndex}. Only
+	 * the matching page of products is read from the database.
+	 */
+	public List<ProductDTO> searchProducts(String query, Integer limit) {
+		int size = limit == null || limit <= 0 ? DEFAULT_SEARCH_LIMIT : Math.min(limit, MAX_PAGE_SIZE);
+		List<ProductSearchIndex.SearchHit> hits = productSearchIndex.search(query, size);
+		if (hits.isEmpty()) {
+			return List.of();
+		}
 
-		return products.stream()
-				.map(productMapper::toDto)
-				.collect(Collectors.toList());
+		Map<Long, ProductDTO> productsById = productRepository.findDtosByIdIn(
+						hits.stream().map(ProductSearchIndex.SearchHit::productId).toList())
+				.stream()
+				.collect(Collectors.toMap(ProductDTO::getId, Function.identity()));
+		// Keep the index ranking; ids deleted since they were indexed are skipped
+		return hits.stream()
+				.map(hit -> productsById.get(hit.productId()))
+				.filter(Objects::nonNull)
+				.toList();
+	}
+
+	/**
+	 * Loads every product into the search index once the application is up; later writes reach the index through
+	 * {@link ProductSearchIndexListener}.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public void rebuildSearchIndex() {
+		productSearchIndex.clear();
+		long cursor = 0L;
+		List<ProductDTO> page;
+		while (!(page = productRepository.findDtosAfter(cursor, Limit.of(MAX_PAGE_SIZE))).isEmpty()) {
+			page.forEach(product -> productSearchIndex.index(product.getId(), product.getProductName(), product.getDescription()));
+			cursor = page.get(page.size() - 1).getId();
+		}
+		log.info("Search index built with {} products", productSearchIndex.size());
+	}
+
+	@Transactional(readOnly = true)
+	public List<ProductDTO> getProductsByCategory(Long categoryId) {
+		return productRepository.findDtosByCategoryId(categoryId);
 	}
 
 	@Transactional(readOnly = true)
+	public List<ProductDTO> getProductsCheaperThan(BigDecimal price) {
+		return productRepository.findDtosByPriceLessThan(price);
+	}
+
+	/**
+	 * Reads one keyset page of in-stock products ordered by id, starting after {@code afterId} (exclusive); the
+	 * same product set as every other listing. Each call runs in its own short read-only transaction so callers
+	 * can page through the whole table without holding a connection or a growing persistence context.
+	 */
+	@Transactional(readOnly = true)
+	public List<ProductDTO> getInStockProductsAfter(Long afterId, int limit) {
+		return productRepository.findInStockDtosAfter(afterId != null ? afterId : 0L, Limit.of(limit));
+	}
+
+	/**
+	 * Keyset-paginated variant of {@link #getAllProducts(boolean)}. The cursor is either an opaque
+	 * {@code pageToken} from a previous page or a raw {@code afterId}; the token wins when both are given.
+	 * One extra row is read to decide whether a next page exists, so the last page never comes back empty.
+	 */
+	@Transactional(readOnly = true)
+	public ProductPage getProductPage(String pageToken, Long afterId, Integer limit) {
+		int pageSize = limit == null || limit <= 0 ? DEFAULT_PAGE_SIZE : Math.min(limit, MAX_PAGE_SIZE);
+		long cursor = pageToken != null && !pageToken.isEmpty()
+				? PageTokens.decode(pageToken)
+				: afterId != null ? afterId : 0L;
+
+		List<ProductDTO> products = productRepository.findInStockDtosAfter(cursor, Limit.of(pageSize + 1));
+		String nextPageToken = null;
+		if (products.size() > pageSize) {
+			products = products.subList(0, pageSize);
+			nextPageToken = PageTokens.encode(products.get(pageSize - 1).getId());
+		}
+		return new ProductPage(products, nextPageToken);
+	}
+
+	/**
+	 * Hands every in-stock product to {@code pageConsumer}, one keyset page of {@code pageSize} at a time in id
+	 * order. Each page is read in its own short query, so a slow consumer never holds a connection.
+	 */
+	public void forEachInStockPage(int pageSize, Consumer<List<ProductDTO>> pageConsumer) {
+		long cursor = 0L;
+		while (true) {
+			List<ProductDTO> page = productRepository.findInStockDtosAfter(cursor, Limit.of(pageSize));
+			if (page.isEmpty()) {
+				return;
+			}
+			pageConsumer.accept(page);
+			if (page.size() < pageSize) {
+				return;
+			}
+			cursor = page.get(page.size() - 1).getId();
+		}
+	}
+
+	/**
+	 * Served from {@link ProductCache}; deliberately not transactional so a cache hit never touches the
+	 * connection pool. Misses are loaded through the repository's own transaction. A missing product throws
+	 * {@link ResourceNotFoundException}, which the cache does not store.
+	 */
 	public ProductDTO getProductById(Long id) {
+		return productCache.getById(id, this::loadProductById);
+	}
+
+	private ProductDTO loadProductById(Long id) {
 		log.info("Getting product by ID: {}", id);
-		Product product = productRepository.getById(id);
-		return productMapper.toDto(product);
+		ProductDTO productDTO = productRepository.findDtoById(id);
+		if (productDTO == null) {
+			throw new ResourceNotFoundException("Product", "id", id);
+		}
+		return productDTO;
 	}
 
 	@Transactional
@@ -80,47 +225,88 @@ public class ProductService {
 		}
 	}
 
+	/**
+	 * Creates many products in one transaction. Categories are resolved with a single lookup for the whole batch,
+	 * invalid items are rejected individually, and the valid ones are inserted as JDBC batches; the persistence
+	 * context is flushed and cleared every {@code hibernate.jdbc.batch_size} rows so memory stays flat.
+	 */
 	@Transactional
-	public CompletableFuture<Void> syncWithFakeApi() {
-		return CompletableFuture.supplyAsync(() -> {
-			List<Product> dbProducts = productRepository.findAll();
-			List<ProductDTO> products = dbProducts.stream()
-					.map(productMapper::toDto)
-					.collect(Collectors.toList());
-
-			List<ExternalProductDTO> externalProducts = fakeStoreApiClient.getAllProducts();
-			log.info("Fetched {} products from external API", externalProducts.size());
-
-			Map<String, ExternalProductDTO> externalProductMap = externalProducts.stream()
-					.collect(Collectors.toMap(
-						ep -> ep.getTitle().toLowerCase(),
-						Function.identity(),
-						(existing, replacement) -> existing // In case of duplicate keys, keep the first one
-					));
-
-			products.forEach(productDTO -> {
-				ExternalProductDTO matchingProduct = externalProductMap.get(productDTO.getProductName().toLowerCase());
-				if (matchingProduct != null) {
-					productDTO.setExternalId(matchingProduct.getId().toString());
-					productDTO.setRating(matchingProduct.getRating() != null ? matchingProduct.getRating().getRate() : null);
-					productDTO.setRatingCount(matchingProduct.getRating() != null ? matchingProduct.getRating().getCount() : null);
-					productDTO.setImageUrl(matchingProduct.getImage());
-					log.debug("Enriched product {} with external data", productDTO.getProductName());
-				} else {
-					log.debug("No matching external product found for {}", productDTO.getProductName());
-				}
-			});
-
-			List<Product> updatedProducts = products.stream()
-					.map(productMapper::toEntity)
-					.collect(Collectors.toList());
-
-			productRepository.saveAll(updatedProducts);
-			log.info("Saved {} updated products to the database", updatedProducts.size());
-
-			return null;
-		});
+	public List<ProductBatchItemResult> createProducts(List<ProductDTO> productDTOs) {
+		log.info("Creating {} products in batch", productDTOs.size());
+		Set<Long> categoryIds = productDTOs.stream()
+				.map(ProductDTO::getCategoryId)
+				.filter(Objects::nonNull)
+				.collect(Collectors.toSet());
+		Map<Long, Category> categories = new HashMap<>();
+		categoryRepository.findAllById(categoryIds).forEach(category -> categories.put(category.getCategoryId(), category));
+
+		List<ProductBatchItemResult> results = new ArrayList<>(productDTOs.size());
+		List<Product> pending = new ArrayList<>(jdbcBatchSize);
+		List<Integer> pendingIndexes = new ArrayList<>(jdbcBatchSize);
+		for (int i = 0; i < productDTOs.size(); i++) {
+			ProductDTO productDTO = productDTOs.get(i);
+			String error = validateForCreate(productDTO, categories);
+			if (error != null) {
+				results.add(ProductBatchItemResult.rejected(i, error));
+				continue;
+			}
+
+			Product product = productMapper.toEntity(productDTO);
+			product.setId(null);
+			product.setCategory(productDTO.getCategoryId() != null ? categories.get(productDTO.getCategoryId()) : null);
+			entityManager.persist(product);
+			pending.add(product);
+			pendingIndexes.add(i);
+
+			if (pending.size() >= jdbcBatchSize) {
+				flushBatch(pending, pendingIndexes, results);
+			}
+		}
+		flushBatch(pending, pendingIndexes, results);
+
+		results.sort(Comparator.comparingInt(ProductBatchItemResult::index));
+		return results;
 	}
 
+	private void flushBatch(List<Product> pending, List<Integer> pendingIndexes, List<ProductBatchItemResult> results) {
+		if (pending.isEmpty()) {
+			return;
+		}
+		entityManager.flush();
+		for (int i = 0; i < pending.size(); i++) {
+			results.add(ProductBatchItemResult.created(pendingIndexes.get(i), pending.get(i).getId()));
+		}
+		entityManager.clear();
+		pending.clear();
+		pendingIndexes.clear();
+	}
 
+	private static String validateForCreate(ProductDTO productDTO, Map<Long, Category> categories) {
+		if (productDTO.getProductName() == null || productDTO.getProductName().isBlank()) {
+			return "productName is required";
+		}
+		if (productDTO.getProductPrice() == null) {
+			return "productPrice is required";
+		}
+		if (productDTO.getStock_quantity() == null) {
+			return "stock_quantity is required";
+		}
+		if (productDTO.getCategoryId() != null && !categories.containsKey(productDTO.getCategoryId())) {
+			return String.format("Category not found with id: '%s'", productDTO.getCategoryId());
+		}
+		return null;
+	}
+
+	/**
+	 * Runs an incremental sync on the dedicated sync executor. When a sync is already running and queued,
+	 * the request is rejected and the returned future fails.
+	 */
+	public CompletableFuture<Void> syncWithFakeApi() {
+		try {
+			return CompletableFuture.runAsync(productSyncEngine::run, productSyncExecutor);
+		} catch (RejectedExecutionException e) {
+			log.warn("Product sync rejected, a sync is already in progress");
+			return CompletableFuture.failedFuture(e);
+		}
+	}
 }
@@ -0,0 +1,234 @@
+package com.example.refactortask.service;
+
+import com.example.refactortask.client.FakeStoreApiClient;
+import com.example.refactortask.model.dto.ExternalCatalogSnapshot;
+import com.example.refactortask.model.dto.ExternalProductDTO;
+import com.example.refactortask.model.entity.Product;
+import com.example.refactortask.model.entity.SyncRun;
+import com.example.refactortask.model.projection.ProductSyncState;
+import com.example.refactortask.repository.ProductRepository;
+import com.example.refactortask.repository.SyncRunRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Incremental sync of external Fake Store data into local products.
+ * <p>
+ * External products are streamed from the upstream payload and processed in fixed-size chunks. Before streaming,
+ * the titles of all local products are loaded page by page into a {@link TitleMatcher}, which maps each external
+ * title to the local products it matches (exactly or, with the MinHash matcher, by trigram similarity) without a
+ * per-title query. For each chunk only the id and content hash of the matched local rows are read; rows whose hash
+ * differs are loaded and updated in one transaction, which Hibernate flushes as JDBC batches
+ * ({@code hibernate.jdbc.batch_size}). Once a chunk commits, its changed products are dropped from the
+ * {@link ProductCache}. Unchanged rows are never written, and when the upstream reports the catalog
+ * unchanged since the last successful run no diffing happens at all.
+ * <p>
+ * Each run is recorded in the sync run table and timed as {@code product.sync.runs}, tagged with its status.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProductSyncEngine {
+
+    // Length of sync_runs.error_message
+    private static final int ERROR_MESSAGE_LENGTH = 1000;
+
+    private final ProductRepository productRepository;
+    private final SyncRunRepository syncRunRepository;
+    private final FakeStoreApiClient fakeStoreApiClient;
+    private final ProductCache productCache;
+    private final TransactionTemplate transactionTemplate;
+    private final TitleMatcherFactory titleMatcherFactory;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${product.sync.chunk-size:500}")
+    private int chunkSize;
+
+    public SyncRun run() {
+        SyncRun run = syncRunRepository.save(SyncRun.builder()
+                .status(SyncRun.Status.RUNNING)
+                .startedAt(LocalDateTime.now())
+                .build());
+        long start = System.nanoTime();
+        SyncCounters counters = new SyncCounters();
+
+        try {
+            ExternalCatalogSnapshot snapshot = fakeStoreApiClient.getCatalogSnapshot();
+            if (!snapshot.isAvailable()) {
+                // An outage is not an empty catalog; nothing was compared, so the run did not succeed
+                log.warn("External catalog unavailable, product sync run {} failed: {}", run.getId(),
+                        snapshot.unavailableReason());
+                run.setStatus(SyncRun.Status.FAILED);
+                run.setErrorMessage(truncate("External catalog unavailable: " + snapshot.unavailableReason()));
+                return run;
+            }
+            run.setSourceVersion(snapshot.version());
+            if (isAlreadySynced(snapshot)) {
+                log.info("External catalog version {} unchanged since last successful sync, skipping", snapshot.version());
+                run.setStatus(SyncRun.Status.UNCHANGED);
+                return run;
+            }
+
+            TitleMatcher titleMatcher = loadLocalTitles();
+
+            // Products arrive one at a time from the parser; only the current chunk is held in memory
+            List<ExternalProductDTO> chunk = new ArrayList<>(chunkSize);
+            snapshot.products().forEach(externalProduct -> {
+                counters.externalProducts++;
+                chunk.add(externalProduct);
+                if (chunk.size() >= chunkSize) {
+                    transactionTemplate.executeWithoutResult(status -> syncChunk(chunk, titleMatcher, counters));
+                    chunk.clear();
+                }
+            });
+            if (!chunk.isEmpty()) {
+                transactionTemplate.executeWithoutResult(status -> syncChunk(chunk, titleMatcher, counters));
+            }
+            log.info("Processed {} products from external API, {} matched by title similarity",
+                    counters.externalProducts, counters.similarMatches);
+            run.setStatus(SyncRun.Status.SUCCEEDED);
+        } catch (RuntimeException e) {
+            log.error("Product sync run {} failed", run.getId(), e);
+            run.setStatus(SyncRun.Status.FAILED);
+            run.setErrorMessage(truncate(e.getMessage()));
+            throw e;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            run.setFinishedAt(LocalDateTime.now());
+            run.setDurationMs(TimeUnit.NANOSECONDS.toMillis(elapsed));
+            run.setExternalProducts(counters.externalProducts);
+            run.setRowsScanned(counters.rowsScanned);
+            run.setRowsChanged(counters.rowsChanged);
+            syncRunRepository.save(run);
+            Timer.builder("product.sync.runs")
+                    .description("Duration of external catalog sync runs")
+                    .tag("status", run.getStatus().name())
+                    .register(meterRegistry)
+                    .record(elapsed, TimeUnit.NANOSECONDS);
+            log.info("Product sync run {} {}: {} external, {} scanned, {} changed in {} ms", run.getId(), run.getStatus(),
+                    run.getExternalProducts(), run.getRowsScanned(), run.getRowsChanged(), run.getDurationMs());
+        }
+        return run;
+    }
+
+    /**
+     * A 304 alone is not enough to skip: the previous run may have failed after downloading. Skip only when the
+     * last successful run processed this exact upstream version.
+     */
+    private boolean isAlreadySynced(ExternalCatalogSnapshot snapshot) {
+        if (!snapshot.notModified() || snapshot.version() == null) {
+            return false;
+        }
+        return syncRunRepository.findFirstByStatusOrderByStartedAtDesc(SyncRun.Status.SUCCEEDED)
+                .map(lastRun -> snapshot.version().equals(lastRun.getSourceVersion()))
+                .orElse(false);
+    }
+
+    private TitleMatcher loadLocalTitles() {
+        TitleMatcher titleMatcher = titleMatcherFactory.create();
+        long cursor = 0L;
+        List<ProductSyncState> page;
+        while (!(page = productRepository.findSyncStateAfter(cursor, Limit.of(chunkSize))).isEmpty()) {
+            page.forEach(state -> titleMatcher.add(state.getId(), state.getProductName()));
+            cursor = page.get(page.size() - 1).getId();
+        }
+        return titleMatcher;
+    }
+
+    private void syncChunk(List<ExternalProductDTO> chunk, TitleMatcher titleMatcher, SyncCounters counters) {
+        Map<Long, ExternalProductDTO> externalByProductId = new HashMap<>();
+        for (ExternalProductDTO externalProduct : chunk) {
+            if (externalProduct.getTitle() == null) {
+                continue;
+            }
+            titleMatcher.bestMatch(externalProduct.getTitle()).ifPresent(match -> {
+                if (match.score() < 1.0) {
+                    counters.similarMatches++;
+                    log.debug("Matched external title '{}' to products {} with similarity {}",
+                            externalProduct.getTitle(), match.productIds(), match.score());
+                }
+                // In case several external products match the same local one, keep the first
+                match.productIds().forEach(productId -> externalByProductId.putIfAbsent(productId, externalProduct));
+            });
+        }
+        if (externalByProductId.isEmpty()) {
+            return;
+        }
+
+        Map<Long, ExternalProductDTO> changed = new HashMap<>();
+        for (ProductSyncState state : productRepository.findSyncStateByIdIn(externalByProductId.keySet())) {
+            counters.rowsScanned++;
+            ExternalProductDTO externalProduct = externalByProductId.get(state.getId());
+            if (!Objects.equals(contentHash(externalProduct), state.getSyncHash())) {
+                changed.put(state.getId(), externalProduct);
+            }
+        }
+        if (changed.isEmpty()) {
+            return;
+        }
+
+        // Managed entities are flushed on commit, in batches
+        for (Product product : productRepository.findAllById(changed.keySet())) {
+            ExternalProductDTO externalProduct = changed.get(product.getId());
+            product.setExternalId(externalProduct.getId() != null ? externalProduct.getId().toString() : null);
+            product.setRating(externalProduct.getRating() != null ? externalProduct.getRating().getRate() : null);
+            product.setRatingCount(externalProduct.getRating() != null ? externalProduct.getRating().getCount() : null);
+            product.setImageUrl(externalProduct.getImage());
+            product.setSyncHash(contentHash(externalProduct));
+            log.debug("Enriched product {} with external data", product.getProductName());
+        }
+        // Only once the chunk is committed: its rows are fresh from then on, and a rolled-back chunk changed nothing
+        Set<Long> changedIds = Set.copyOf(changed.keySet());
+        productCache.invalidateAfterCommit(changedIds);
+        TransactionHooks.afterCommit(() -> counters.rowsChanged += changedIds.size());
+    }
+
+    /**
+     * SHA-256 over exactly the fields the sync writes, so a hash match means there is nothing to update.
+     */
+    static String contentHash(ExternalProductDTO externalProduct) {
+        ExternalProductDTO.Rating rating = externalProduct.getRating();
+        String content = externalProduct.getId()
+                + "\u0000" + (rating != null ? rating.getRate() : null)
+                + "\u0000" + (rating != null ? rating.getCount() : null)
+                + "\u0000" + externalProduct.getImage();
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static String truncate(String errorMessage) {
+        return errorMessage != null && errorMessage.length() > ERROR_MESSAGE_LENGTH
+                ? errorMessage.substring(0, ERROR_MESSAGE_LENGTH)
+                : errorMessage;
+    }
+
+    private static final class SyncCounters {
+        private int externalProducts;
+        private int rowsScanned;
+        private int rowsChanged;
+        private int similarMatches;
+    }
+}
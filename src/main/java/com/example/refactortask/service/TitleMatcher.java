@@ -0,0 +1,46 @@
+package com.example.refactortask.service;
+
+import java.text.Normalizer;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Matches external product titles against the titles of local products during a sync run.
+ * <p>
+ * A matcher is filled once per run with every local product through {@link #add(long, String)} and then queried
+ * once per external product. Implementations are not thread-safe; the sync engine creates a fresh one for each run
+ * through the {@link TitleMatcherFactory} bean.
+ */
+public interface TitleMatcher {
+
+    Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    Pattern NON_ALPHANUMERIC = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    void add(long productId, String title);
+
+    /**
+     * The local products whose title matches {@code title} best, if any of them is similar enough.
+     */
+    Optional<Match> bestMatch(String title);
+
+    /**
+     * @param productIds every local product sharing the matched normalized title
+     * @param score      similarity in {@code (0, 1]}; {@code 1} means the normalized titles are equal
+     */
+    record Match(List<Long> productIds, double score) {
+    }
+
+    /**
+     * Lower-cases, strips accents and collapses every run of punctuation and whitespace into a single space, so
+     * "Men's  T-Shirt" and "mens t shirt" differ only where the words really differ.
+     */
+    static String normalize(String title) {
+        if (title == null) {
+            return "";
+        }
+        String decomposed = DIACRITICS.matcher(Normalizer.normalize(title, Normalizer.Form.NFKD)).replaceAll("");
+        return NON_ALPHANUMERIC.matcher(decomposed.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.refactortask.service;
+
+/**
+ * Creates an empty {@link TitleMatcher} for each sync run. The default bean is chosen by
+ * {@code product.sync.matching.strategy} in {@code SyncConfig}; defining another bean of this type replaces it.
+ */
+@FunctionalInterface
+public interface TitleMatcherFactory {
+
+    TitleMatcher create();
+}
@@ -0,0 +1,207 @@
+package com.example.refactortask.e2e;
+
+import com.example.refactortask.grpc.AddCategoryRequest;
+import com.example.refactortask.grpc.CategoriesList;
+import com.example.refactortask.grpc.CategoryData;
+import com.example.refactortask.grpc.CategoryGrpcServiceGrpc;
+import com.example.refactortask.grpc.Empty;
+import com.example.refactortask.grpc.FetchCategoryRequest;
+import com.example.refactortask.grpc.FindByNameRequest;
+import com.example.refactortask.grpc.ModifyCategoryRequest;
+import com.example.refactortask.grpc.RemoveCategoryRequest;
+import com.example.refactortask.grpc.RemoveResponse;
+import com.example.refactortask.model.entity.Category;
+import com.example.refactortask.model.entity.Product;
+import com.example.refactortask.repository.CategoryRepository;
+import com.example.refactortask.repository.ProductRepository;
+import com.example.refactortask.service.ProductCache;
+import io.grpc.ManagedChannel;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+public class GrpcCategoryServiceE2ETest {
+
+    @Value("${grpc.server.in-process-name:interview-grpc-server}")
+    private String inProcessServerName;
+
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private ProductCache productCache;
+
+    private CategoryGrpcServiceGrpc.CategoryGrpcServiceBlockingStub blockingStub;
+    private ManagedChannel channel;
+
+    @BeforeEach
+    public void setup() {
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+        productCache.invalidateAll();
+
+        channel = InProcessChannelBuilder.forName(inProcessServerName)
+                .usePlaintext()
+                .build();
+        blockingStub = CategoryGrpcServiceGrpc.newBlockingStub(channel);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        channel.shutdownNow();
+    }
+
+    @Test
+    public void should_fetchCategory_returnCategoryWithProductIds_whenCategoryExists() {
+        // Given
+        Category category = saveCategory("Electronics");
+        Long laptopId = saveProduct("Laptop", category);
+        Long phoneId = saveProduct("Smartphone", category);
+        saveProduct("Chair", saveCategory("Furniture"));
+
+        // When
+        CategoryData response = blockingStub.fetchCategory(FetchCategoryRequest.newBuilder()
+                .setCategoryId(category.getCategoryId())
+                .build());
+
+        // Then
+        assertEquals(category.getCategoryId(), response.getCategoryId());
+        assertEquals("Electronics", response.getName());
+        assertEquals(List.of(laptopId, phoneId), response.getProductIdsList());
+    }
+
+    @Test
+    public void should_fail_fetchCategory_withNotFound_whenCategoryDoesNotExist() {
+        // When & Then
+        StatusRuntimeException exception = assertThrows(StatusRuntimeException.class,
+                () -> blockingStub.fetchCategory(FetchCategoryRequest.newBuilder().setCategoryId(999L).build()));
+        assertEquals(Status.NOT_FOUND.getCode(), exception.getStatus().getCode());
+    }
+
+    @Test
+    public void should_getAllCategories_returnEachCategoryWithItsOwnProductIds() {
+        // Given
+        Category electronics = saveCategory("Electronics");
+        Category furniture = saveCategory("Furniture");
+        saveCategory("Empty");
+        Long laptopId = saveProduct("Laptop", electronics);
+        Long chairId = saveProduct("Chair", furniture);
+        Long tableId = saveProduct("Table", furniture);
+
+        // When
+        CategoriesList response = blockingStub.getAllCategories(Empty.getDefaultInstance());
+
+        // Then
+        assertEquals(3, response.getCategoriesCount());
+        assertEquals(List.of(laptopId), response.getCategories(0).getProductIdsList());
+        assertEquals(List.of(chairId, tableId), response.getCategories(1).getProductIdsList());
+        assertTrue(response.getCategories(2).getProductIdsList().isEmpty());
+    }
+
+    @Test
+    public void should_addCategory_andFindItByName() {
+        // When
+        CategoryData created = blockingStub.addCategory(AddCategoryRequest.newBuilder()
+                .setName("Books")
+                .setDescription("Printed books")
+                .build());
+        CategoryData found = blockingStub.findCategoryByName(FindByNameRequest.newBuilder()
+                .setName("Books")
+                .build());
+
+        // Then
+        assertEquals(created.getCategoryId(), found.getCategoryId());
+        assertEquals("Printed books", found.getDescription());
+    }
+
+    @Test
+    public void should_fail_addCategory_withInvalidArgument_whenNameAlreadyExists() {
+        // Given
+        saveCategory("Books");
+
+        // When & Then
+        StatusRuntimeException exception = assertThrows(StatusRuntimeException.class,
+                () -> blockingStub.addCategory(AddCategoryRequest.newBuilder().setName("Books").build()));
+        assertEquals(Status.INVALID_ARGUMENT.getCode(), exception.getStatus().getCode());
+    }
+
+    @Test
+    public void should_modifyCategory_updateOnlyGivenFields() {
+        // Given
+        Category category = saveCategory("Books");
+
+        // When
+        CategoryData response = blockingStub.modifyCategory(ModifyCategoryRequest.newBuilder()
+                .setCategoryId(category.getCategoryId())
+                .setName("E-Books")
+                .build());
+
+        // Then
+        assertEquals("E-Books", response.getName());
+        assertEquals("Books description", response.getDescription());
+    }
+
+    @Test
+    public void should_removeCategory_keepItsProductsWithoutCategory() {
+        // Given
+        Category category = saveCategory("Electronics");
+        Long laptopId = saveProduct("Laptop", category);
+
+        // When
+        RemoveResponse response = blockingStub.removeCategory(RemoveCategoryRequest.newBuilder()
+                .setCategoryId(category.getCategoryId())
+                .build());
+
+        // Then
+        assertTrue(response.getSuccess());
+        assertFalse(categoryRepository.existsById(category.getCategoryId()));
+        assertNull(productRepository.findDtoById(laptopId).getCategoryId());
+    }
+
+    @Test
+    public void should_removeCategory_reportFailure_whenCategoryDoesNotExist() {
+        // When
+        RemoveResponse response = blockingStub.removeCategory(RemoveCategoryRequest.newBuilder()
+                .setCategoryId(999L)
+                .build());
+
+        // Then
+        assertFalse(response.getSuccess());
+        assertTrue(response.getErrorMessage().contains("999"));
+    }
+
+    private Category saveCategory(String name) {
+        Category category = new Category();
+        category.setName(name);
+        category.setDescription(name + " description");
+        return categoryRepository.save(category);
+    }
+
+    private Long saveProduct(String name, Category category) {
+        return productRepository.save(Product.builder()
+                .productName(name)
+                .productPrice(new BigDecimal("10.00"))
+                .stock_quantity(1)
+                .category(category)
+                .build()).getId();
+    }
+}
@@ -1,19 +1,25 @@
 package com.example.refactortask.e2e;
 
 import com.example.refactortask.grpc.CreateProductRequest;
+import com.example.refactortask.grpc.CreateProductsResponse;
 import com.example.refactortask.grpc.ListProductsRequest;
 import com.example.refactortask.grpc.ListProductsResponse;
 import com.example.refactortask.grpc.ProductRequest;
 import com.example.refactortask.grpc.ProductResponse;
 import com.example.refactortask.grpc.ProductServiceGrpc;
+import com.example.refactortask.grpc.SearchProductsRequest;
+import com.example.refactortask.grpc.SearchProductsResponse;
+import com.example.refactortask.grpc.StreamProductsRequest;
 import com.example.refactortask.model.entity.Category;
 import com.example.refactortask.model.entity.Product;
 import com.example.refactortask.repository.CategoryRepository;
 import com.example.refactortask.repository.ProductRepository;
+import com.example.refactortask.service.ProductCache;
 import io.grpc.ManagedChannel;
 import io.grpc.Status;
 import io.grpc.StatusRuntimeException;
 import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.stub.StreamObserver;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -22,9 +28,15 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -40,6 +52,8 @@ public class GrpcProductServiceE2ETest {
 
     @Autowired
     private CategoryRepository categoryRepository;
+    @Autowired
+    private ProductCache productCache;
 
     private ProductServiceGrpc.ProductServiceBlockingStub blockingStub;
     private ManagedChannel channel;
@@ -49,6 +63,7 @@ public class GrpcProductServiceE2ETest {
         // Clean up the database before each test
         productRepository.deleteAll();
         categoryRepository.deleteAll();
+        productCache.invalidateAll();
 
         // Set up the gRPC channel
         channel = InProcessChannelBuilder.forName(inProcessServerName)
@@ -156,6 +171,72 @@ public class GrpcProductServiceE2ETest {
         // The method tries to remove items from the stream while iterating, which is not allowed
     }
 
+    @Test
+    public void should_streamProducts_returnAllProductsInIdOrder_acrossMultipleBatches() {
+        // Given
+        Category category = new Category();
+        category.setName("Electronics");
+        category.setDescription("Electronic devices");
+        Category savedCategory = categoryRepository.save(category);
+
+        List<Long> savedIds = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Product product = Product.builder()
+                    .productName("Product " + i)
+                    .description("Streamed product " + i)
+                    .productPrice(new BigDecimal("10.00"))
+                    .stock_quantity(i + 1)
+                    .category(savedCategory)
+                    .isInStock(true)
+                    .build();
+            savedIds.add(productRepository.save(product).getId());
+        }
+
+        // When
+        StreamProductsRequest request = StreamProductsRequest.newBuilder()
+                .setBatchSize(2)
+                .build();
+        Iterator<ProductResponse> responses = blockingStub.streamProducts(request);
+
+        // Then
+        List<Long> streamedIds = new ArrayList<>();
+        responses.forEachRemaining(response -> streamedIds.add(response.getId()));
+        assertEquals(savedIds, streamedIds);
+    }
+
+    @Test
+    public void should_streamProducts_returnSameProductsAsListProducts_skippingOutOfStock() {
+        // Given
+        Category category = new Category();
+        category.setName("Electronics");
+        category.setDescription("Electronic devices");
+        Category savedCategory = categoryRepository.save(category);
+
+        for (int i = 0; i < 4; i++) {
+            productRepository.save(Product.builder()
+                    .productName("Product " + i)
+                    .description("Streamed product " + i)
+                    .productPrice(new BigDecimal("10.00"))
+                    .stock_quantity(i % 2)
+                    .category(savedCategory)
+                    .isInStock(i % 2 == 1)
+                    .build());
+        }
+
+        // When
+        List<Long> streamedIds = new ArrayList<>();
+        blockingStub.streamProducts(StreamProductsRequest.newBuilder().setBatchSize(1).build())
+                .forEachRemaining(response -> streamedIds.add(response.getId()));
+        List<Long> listedIds = blockingStub.listProducts(ListProductsRequest.newBuilder().build())
+                .getProductsList().stream()
+                .map(ProductResponse::getId)
+                .toList();
+
+        // Then
+        assertEquals(2, streamedIds.size());
+        assertEquals(listedIds, streamedIds);
+    }
+
     @Test
     public void should_createProduct_returnCreatedProduct_whenValidInput() {
         // Given
@@ -184,4 +265,68 @@ public class GrpcProductServiceE2ETest {
         assertTrue(response.getIsInStock());
         assertEquals(savedCategory.getCategoryId(), response.getCategoryId());
     }
+
+    @Test
+    public void should_createProducts_createProductWithoutCategory_whenCategoryIdIsUnset() throws Exception {
+        // Given
+        CompletableFuture<CreateProductsResponse> result = new CompletableFuture<>();
+        StreamObserver<CreateProductRequest> requests = ProductServiceGrpc.newStub(channel)
+                .createProducts(new StreamObserver<>() {
+                    @Override
+                    public void onNext(CreateProductsResponse response) {
+                        result.complete(response);
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                        result.completeExceptionally(t);
+                    }
+
+                    @Override
+                    public void onCompleted() {
+                    }
+                });
+
+        // When
+        requests.onNext(CreateProductRequest.newBuilder()
+                .setProductName("Tablet")
+                .setProductPrice(399.99)
+                .setStockQuantity(15)
+                .build());
+        requests.onCompleted();
+        CreateProductsResponse response = result.get(10, TimeUnit.SECONDS);
+
+        // Then
+        assertEquals(1, response.getResultsCount());
+        assertEquals("", response.getResults(0).getError());
+        assertTrue(response.getResults(0).getId() > 0);
+        Product created = productRepository.findById(response.getResults(0).getId()).orElseThrow();
+        assertNull(created.getCategory());
+    }
+
+    @Test
+    public void should_searchProducts_returnMatchesBestFirst() {
+        // Given
+        productRepository.save(Product.builder()
+                .productName("USB Cable")
+                .description("Charges any smartphone")
+                .productPrice(new BigDecimal("9.99"))
+                .stock_quantity(50)
+                .build());
+        Product smartphone = productRepository.save(Product.builder()
+                .productName("Smartphone")
+                .description("A new smartphone")
+                .productPrice(new BigDecimal("599.99"))
+                .stock_quantity(20)
+                .build());
+
+        // When
+        SearchProductsResponse response = blockingStub.searchProducts(SearchProductsRequest.newBuilder()
+                .setQuery("smart")
+                .build());
+
+        // Then
+        assertEquals(2, response.getProductsCount());
+        assertEquals(smartphone.getId(), response.getProducts(0).getId());
+    }
 }
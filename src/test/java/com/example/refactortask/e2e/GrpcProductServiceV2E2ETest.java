@@ -0,0 +1,142 @@
+package com.example.refactortask.e2e;
+
+import com.example.refactortask.grpc.v2.CreateProductRequest;
+import com.example.refactortask.grpc.v2.GetProductRequest;
+import com.example.refactortask.grpc.v2.ListProductsRequest;
+import com.example.refactortask.grpc.v2.ListProductsResponse;
+import com.example.refactortask.grpc.v2.Product;
+import com.example.refactortask.grpc.v2.ProductServiceGrpc;
+import com.example.refactortask.model.entity.Category;
+import com.example.refactortask.repository.CategoryRepository;
+import com.example.refactortask.repository.ProductRepository;
+import com.example.refactortask.service.ProductCache;
+import io.grpc.ManagedChannel;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.ZoneId;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+public class GrpcProductServiceV2E2ETest {
+
+    @Value("${grpc.server.in-process-name:interview-grpc-server}")
+    private String inProcessServerName;
+
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private ProductCache productCache;
+
+    private ProductServiceGrpc.ProductServiceBlockingStub blockingStub;
+    private ManagedChannel channel;
+    private Category category;
+
+    @BeforeEach
+    public void setup() {
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+        productCache.invalidateAll();
+
+        Category electronics = new Category();
+        electronics.setName("Electronics");
+        electronics.setDescription("Electronic devices");
+        category = categoryRepository.save(electronics);
+
+        channel = InProcessChannelBuilder.forName(inProcessServerName)
+                .usePlaintext()
+                .build();
+        blockingStub = ProductServiceGrpc.newBlockingStub(channel);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        channel.shutdownNow();
+    }
+
+    @Test
+    public void should_createAndGetProduct_withMinorUnitPriceAndTimestamps() {
+        // When
+        Product created = blockingStub.createProduct(CreateProductRequest.newBuilder()
+                .setProductName("Laptop")
+                .setPriceMinorUnits(99999)
+                .setStockQuantity(10)
+                .setCategoryId(category.getCategoryId())
+                .build());
+        Product fetched = blockingStub.getProduct(GetProductRequest.newBuilder().setId(created.getId()).build());
+
+        // Then
+        assertEquals(99999, fetched.getPriceMinorUnits());
+        assertEquals(0, new BigDecimal("999.99").compareTo(
+                productRepository.findById(created.getId()).orElseThrow().getProductPrice()));
+        assertTrue(fetched.hasUpdatedAt());
+        Instant updatedAt = productRepository.findById(created.getId()).orElseThrow().getUpdatedAt()
+                .atZone(ZoneId.systemDefault()).toInstant();
+        assertEquals(updatedAt.getEpochSecond(), fetched.getUpdatedAt().getSeconds());
+        assertEquals(category.getCategoryId(), fetched.getCategoryId());
+    }
+
+    @Test
+    public void should_fail_getProduct_withNotFound_whenProductDoesNotExist() {
+        // When & Then
+        StatusRuntimeException exception = assertThrows(StatusRuntimeException.class,
+                () -> blockingStub.getProduct(GetProductRequest.newBuilder().setId(999L).build()));
+        assertEquals(Status.NOT_FOUND.getCode(), exception.getStatus().getCode());
+    }
+
+    @Test
+    public void should_listProducts_pageThroughCatalog() {
+        // Given
+        for (int i = 0; i < 3; i++) {
+            blockingStub.createProduct(CreateProductRequest.newBuilder()
+                    .setProductName("Product " + i)
+                    .setPriceMinorUnits(1000 + i)
+                    .setStockQuantity(1)
+                    .build());
+        }
+
+        // When
+        ListProductsResponse first = blockingStub.listProducts(ListProductsRequest.newBuilder()
+                .setPageSize(2)
+                .build());
+        ListProductsResponse second = blockingStub.listProducts(ListProductsRequest.newBuilder()
+                .setPageSize(2)
+                .setPageToken(first.getNextPageToken())
+                .build());
+
+        // Then
+        assertEquals(2, first.getProductsCount());
+        assertFalse(first.getNextPageToken().isEmpty());
+        assertEquals(1, second.getProductsCount());
+        assertEquals(1002, second.getProducts(0).getPriceMinorUnits());
+        assertTrue(second.getNextPageToken().isEmpty());
+    }
+
+    @Test
+    public void should_fail_listProducts_withInvalidArgument_whenPageTokenIsInvalid() {
+        // When & Then
+        StatusRuntimeException exception = assertThrows(StatusRuntimeException.class,
+                () -> blockingStub.listProducts(ListProductsRequest.newBuilder()
+                        .setPageSize(2)
+                        .setPageToken("not-a-token")
+                        .build()));
+        assertEquals(Status.INVALID_ARGUMENT.getCode(), exception.getStatus().getCode());
+    }
+}
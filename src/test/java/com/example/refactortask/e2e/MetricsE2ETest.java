@@ -0,0 +1,188 @@
+package com.example.refactortask.e2e;
+
+import com.example.refactortask.grpc.ProductRequest;
+import com.example.refactortask.grpc.ProductServiceGrpc;
+import com.example.refactortask.model.entity.Category;
+import com.example.refactortask.model.entity.Product;
+import com.example.refactortask.repository.CategoryRepository;
+import com.example.refactortask.repository.ProductRepository;
+import com.example.refactortask.service.ProductCache;
+import io.grpc.ManagedChannel;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the metrics surface: ProductService timers, per-method gRPC status metrics, product cache counters,
+ * Hibernate statistics and the Prometheus scrape endpoint. Metrics export is off in Spring Boot tests unless observability is auto-configured.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureObservability(tracing = false)
+@ActiveProfiles("test")
+public class MetricsE2ETest {
+
+    @LocalServerPort
+    private int port;
+
+    @Value("${grpc.server.in-process-name:interview-grpc-server}")
+    private String inProcessServerName;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private ProductCache productCache;
+
+    private ManagedChannel channel;
+    private ProductServiceGrpc.ProductServiceBlockingStub blockingStub;
+    private Product product;
+
+    @BeforeEach
+    public void setup() {
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+        productCache.invalidateAll();
+
+        Category category = new Category();
+        category.setName("Electronics");
+        category.setDescription("Electronic devices");
+        Category savedCategory = categoryRepository.save(category);
+        product = productRepository.save(Product.builder()
+                .productName("Laptop")
+                .description("A powerful laptop")
+                .productPrice(new BigDecimal("999.99"))
+                .stock_quantity(10)
+                .category(savedCategory)
+                .isInStock(true)
+                .build());
+
+        channel = InProcessChannelBuilder.forName(inProcessServerName)
+                .usePlaintext()
+                .build();
+        blockingStub = ProductServiceGrpc.newBlockingStub(channel);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        channel.shutdownNow();
+    }
+
+    @Test
+    public void should_timeProductServiceMethods_whenCalledOverRest() {
+        // Given
+        long before = productServiceCalls("getProductById");
+
+        // When
+        ResponseEntity<String> response = restTemplate.getForEntity(
+                "http://localhost:" + port + "/api/api/products/" + product.getProductId(), String.class);
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(before + 1, productServiceCalls("getProductById"));
+    }
+
+    @Test
+    public void should_countGrpcCallsPerMethodAndStatus() {
+        // When
+        blockingStub.getProduct(ProductRequest.newBuilder().setId(product.getProductId()).build());
+        StatusRuntimeException exception = assertThrows(StatusRuntimeException.class,
+                () -> blockingStub.getProduct(ProductRequest.newBuilder().setId(Long.MAX_VALUE).build()));
+
+        // Then
+        assertEquals(Status.Code.NOT_FOUND, exception.getStatus().getCode());
+        assertTrue(grpcCalls("GetProduct", "OK") >= 1);
+        assertTrue(grpcCalls("GetProduct", "NOT_FOUND") >= 1);
+    }
+
+    @Test
+    public void should_publishProductCacheHitsAndMisses() {
+        // Given
+        double hitsBefore = cacheGets("hit");
+        double missesBefore = cacheGets("miss");
+
+        // When
+        restTemplate.getForEntity("http://localhost:" + port + "/api/api/products/" + product.getProductId(), String.class);
+        restTemplate.getForEntity("http://localhost:" + port + "/api/api/products/" + product.getProductId(), String.class);
+
+        // Then
+        assertEquals(missesBefore + 1, cacheGets("miss"));
+        assertEquals(hitsBefore + 1, cacheGets("hit"));
+    }
+
+    @Test
+    public void should_publishHibernateStatementCounts() {
+        // When
+        productRepository.findAll();
+
+        // Then
+        FunctionCounter statements = meterRegistry.find("hibernate.statements").tag("status", "prepared").functionCounter();
+        assertNotNull(statements);
+        assertTrue(statements.count() > 0);
+    }
+
+    @Test
+    public void should_exposePrometheusScrapeEndpoint() {
+        // Given
+        restTemplate.getForEntity("http://localhost:" + port + "/api/api/products/" + product.getProductId(), String.class);
+        blockingStub.getProduct(ProductRequest.newBuilder().setId(product.getProductId()).build());
+
+        // When
+        ResponseEntity<String> response = restTemplate.getForEntity(
+                "http://localhost:" + port + "/api/actuator/prometheus", String.class);
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        String body = response.getBody();
+        assertNotNull(body);
+        assertTrue(body.contains("product_service_seconds_bucket"));
+        assertTrue(body.contains("grpc_server_processing_duration_seconds_bucket"));
+        assertTrue(body.contains("hibernate_statements_total"));
+    }
+
+    private long productServiceCalls(String method) {
+        return meterRegistry.find("product.service").tag("method", method).timers().stream()
+                .mapToLong(timer -> timer.count())
+                .sum();
+    }
+
+    private double cacheGets(String result) {
+        FunctionCounter gets = meterRegistry.find("cache.gets").tag("cache", "products").tag("result", result)
+                .functionCounter();
+        return gets != null ? gets.count() : 0;
+    }
+
+    private long grpcCalls(String method, String statusCode) {
+        return meterRegistry.find("grpc.server.processing.duration")
+                .tag("method", method)
+                .tag("statusCode", statusCode)
+                .timers().stream()
+                .mapToLong(timer -> timer.count())
+                .sum();
+    }
+}
@@ -1,11 +1,16 @@
 package com.example.refactortask.e2e;
 
 import com.example.refactortask.model.dto.CategoryDTO;
+import com.example.refactortask.model.dto.ProductBatchItemResult;
 import com.example.refactortask.model.dto.ProductDTO;
 import com.example.refactortask.model.entity.Category;
 import com.example.refactortask.model.entity.Product;
 import com.example.refactortask.repository.CategoryRepository;
 import com.example.refactortask.repository.ProductRepository;
+import com.example.refactortask.service.ProductCache;
+import com.example.refactortask.service.ProductService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -13,16 +18,22 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.boot.test.web.server.LocalServerPort;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
@@ -40,12 +51,17 @@ public class ProductControllerE2ETest {
 
     @Autowired
     private CategoryRepository categoryRepository;
+    @Autowired
+    private ProductCache productCache;
+    @Autowired
+    private ObjectMapper objectMapper;
 
     @BeforeEach
     public void setup() {
         // Clean up the database before each test
         productRepository.deleteAll();
         categoryRepository.deleteAll();
+        productCache.invalidateAll();
     }
 
     @Test
@@ -99,6 +115,196 @@ public class ProductControllerE2ETest {
         assertEquals("Laptop", response.getBody().get(0).getProductName());
     }
 
+    @Test
+    public void should_getAllProducts_returnKeysetPages_whenLimitIsGiven() {
+        // Given
+        Category category = new Category();
+        category.setName("Electronics");
+        category.setDescription("Electronic devices");
+        Category savedCategory = categoryRepository.save(category);
+
+        for (String name : List.of("Laptop", "Smartphone", "Tablet")) {
+            productRepository.save(Product.builder()
+                    .productName(name)
+                    .description("A " + name.toLowerCase())
+                    .productPrice(new BigDecimal("99.99"))
+                    .stock_quantity(10)
+                    .category(savedCategory)
+                    .isInStock(true)
+                    .build());
+        }
+
+        // When
+        ResponseEntity<List<ProductDTO>> firstPage = restTemplate.exchange(
+                getBaseUrl() + "?limit=2",
+                HttpMethod.GET,
+                null,
+                new ParameterizedTypeReference<List<ProductDTO>>() {
+                }
+        );
+        String nextPageToken = firstPage.getHeaders().getFirst("X-Next-Page-Token");
+        ResponseEntity<List<ProductDTO>> secondPage = restTemplate.exchange(
+                getBaseUrl() + "?limit=2&pageToken=" + nextPageToken,
+                HttpMethod.GET,
+                null,
+                new ParameterizedTypeReference<List<ProductDTO>>() {
+                }
+        );
+
+        // Then
+        assertEquals(HttpStatus.OK, firstPage.getStatusCode());
+        assertEquals(2, firstPage.getBody().size());
+        assertEquals("Laptop", firstPage.getBody().get(0).getProductName());
+        assertNotNull(nextPageToken);
+
+        assertEquals(HttpStatus.OK, secondPage.getStatusCode());
+        assertEquals(1, secondPage.getBody().size());
+        assertEquals("Tablet", secondPage.getBody().get(0).getProductName());
+        assertNull(secondPage.getHeaders().getFirst("X-Next-Page-Token"));
+    }
+
+    @Test
+    public void should_fail_getAllProducts_returnBadRequest_whenPageTokenIsInvalid() {
+        // When
+        ResponseEntity<String> response = restTemplate.getForEntity(
+                getBaseUrl() + "?pageToken=not-a-token",
+                String.class
+        );
+
+        // Then
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    }
+
+    @Test
+    public void should_getAllProducts_returnCompactJson_unlessPrettyIsRequested() {
+        // Given
+        productRepository.save(Product.builder()
+                .productName("Laptop")
+                .productPrice(new BigDecimal("999.99"))
+                .stock_quantity(10)
+                .build());
+
+        // When
+        String compact = restTemplate.getForObject(getBaseUrl(), String.class);
+        String pretty = restTemplate.getForObject(getBaseUrl() + "?pretty", String.class);
+
+        // Then
+        assertFalse(compact.contains("\n"));
+        assertTrue(pretty.contains("\n"));
+        assertTrue(pretty.contains("\"productName\" : \"Laptop\""));
+    }
+
+    @Test
+    public void should_getAllProducts_streamNdjson_whenRequested() throws Exception {
+        // Given
+        for (int i = 0; i < 3; i++) {
+            productRepository.save(Product.builder()
+                    .productName("Product " + i)
+                    .productPrice(new BigDecimal("9.99"))
+                    .stock_quantity(i)
+                    .build());
+        }
+        HttpHeaders headers = new HttpHeaders();
+        headers.setAccept(List.of(MediaType.APPLICATION_NDJSON));
+
+        // When
+        ResponseEntity<String> response = restTemplate.exchange(
+                getBaseUrl(),
+                HttpMethod.GET,
+                new HttpEntity<>(headers),
+                String.class
+        );
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertTrue(MediaType.APPLICATION_NDJSON.isCompatibleWith(response.getHeaders().getContentType()));
+        String[] lines = response.getBody().split("\n");
+        // Product 0 has no stock and is not listed
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].contains("\"productName\":\"Product 1\""));
+        assertTrue(lines[1].contains("\"productName\":\"Product 2\""));
+        // Exactly one compact JSON object per line, nothing between records
+        JsonNode listed = objectMapper.readTree(restTemplate.getForObject(getBaseUrl(), String.class));
+        String expected = objectMapper.writeValueAsString(listed.get(0)) + "\n"
+                + objectMapper.writeValueAsString(listed.get(1)) + "\n";
+        assertEquals(expected, response.getBody());
+    }
+
+    @Test
+    public void should_filterProducts_byNamePriceAndStock() {
+        // Given
+        Category category = new Category();
+        category.setName("Electronics");
+        category.setDescription("Electronic devices");
+        Category savedCategory = categoryRepository.save(category);
+
+        productRepository.save(Product.builder()
+                .productName("Gaming Laptop")
+                .productPrice(new BigDecimal("1999.99"))
+                .stock_quantity(3)
+                .category(savedCategory)
+                .build());
+        productRepository.save(Product.builder()
+                .productName("Laptop Sleeve")
+                .productPrice(new BigDecimal("29.99"))
+                .stock_quantity(0)
+                .category(savedCategory)
+                .build());
+        productRepository.save(Product.builder()
+                .productName("Mouse")
+                .productPrice(new BigDecimal("19.99"))
+                .stock_quantity(7)
+                .category(savedCategory)
+                .build());
+
+        ParameterizedTypeReference<List<ProductDTO>> listType = new ParameterizedTypeReference<>() {
+        };
+
+        // When
+        List<ProductDTO> byName = restTemplate.exchange(
+                getBaseUrl() + "/search?name=laptop", HttpMethod.GET, null, listType).getBody();
+        List<ProductDTO> cheap = restTemplate.exchange(
+                getBaseUrl() + "/price-less-than/30", HttpMethod.GET, null, listType).getBody();
+        List<ProductDTO> inStock = restTemplate.exchange(
+                getBaseUrl() + "/in-stock", HttpMethod.GET, null, listType).getBody();
+
+        // Then
+        assertEquals(List.of("Gaming Laptop", "Laptop Sleeve"), byName.stream().map(ProductDTO::getProductName).toList());
+        assertEquals(List.of("Laptop Sleeve", "Mouse"), cheap.stream().map(ProductDTO::getProductName).toList());
+        assertEquals(List.of("Gaming Laptop", "Mouse"), inStock.stream().map(ProductDTO::getProductName).toList());
+    }
+
+    @Test
+    public void should_searchProducts_returnRankedMatches_fromIndex() {
+        // Given
+        productRepository.save(Product.builder()
+                .productName("Laptop Sleeve")
+                .description("Fits any gaming laptop")
+                .productPrice(new BigDecimal("29.99"))
+                .stock_quantity(5)
+                .build());
+        productRepository.save(Product.builder()
+                .productName("Gaming Laptop")
+                .description("Fast")
+                .productPrice(new BigDecimal("1999.99"))
+                .stock_quantity(3)
+                .build());
+        productRepository.save(Product.builder()
+                .productName("Mouse")
+                .productPrice(new BigDecimal("19.99"))
+                .stock_quantity(7)
+                .build());
+
+        // When
+        List<ProductDTO> results = restTemplate.exchange(
+                getBaseUrl() + "/search?q=gam lap", HttpMethod.GET, null,
+                new ParameterizedTypeReference<List<ProductDTO>>() {
+                }).getBody();
+
+        // Then
+        assertEquals(List.of("Gaming Laptop", "Laptop Sleeve"), results.stream().map(ProductDTO::getProductName).toList());
+    }
+
     @Test
     public void should_getProductById_returnProduct_whenProductExists() {
         // Given
@@ -139,7 +345,8 @@ public class ProductControllerE2ETest {
         );
 
         // Then
-        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertTrue(response.getBody().contains("Product not found with id: '999'"));
     }
 
     @Test
@@ -173,6 +380,96 @@ public class ProductControllerE2ETest {
         assertEquals(savedCategory.getCategoryId(), response.getBody().getCategoryId());
     }
 
+    @Test
+    public void should_createProducts_returnPerItemResults_whenBatchHasInvalidItems() {
+        // Given
+        Category category = new Category();
+        category.setName("Electronics");
+        category.setDescription("Electronic devices");
+        Category savedCategory = categoryRepository.save(category);
+
+        List<ProductDTO> batch = List.of(
+                ProductDTO.builder()
+                        .productName("Laptop")
+                        .productPrice(new BigDecimal("999.99"))
+                        .stock_quantity(10)
+                        .categoryId(savedCategory.getCategoryId())
+                        .build(),
+                ProductDTO.builder()
+                        .productName("Orphan")
+                        .productPrice(new BigDecimal("1.00"))
+                        .stock_quantity(1)
+                        .categoryId(-1L)
+                        .build(),
+                ProductDTO.builder()
+                        .productName("Smartphone")
+                        .productPrice(new BigDecimal("599.99"))
+                        .stock_quantity(20)
+                        .categoryId(savedCategory.getCategoryId())
+                        .build()
+        );
+
+        // When
+        ResponseEntity<List<ProductBatchItemResult>> response = restTemplate.exchange(
+                getBaseUrl() + "/batch",
+                HttpMethod.POST,
+                new HttpEntity<>(batch),
+                new ParameterizedTypeReference<List<ProductBatchItemResult>>() {
+                }
+        );
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        List<ProductBatchItemResult> results = response.getBody();
+        assertNotNull(results);
+        assertEquals(3, results.size());
+        assertNotNull(results.get(0).id());
+        assertNull(results.get(1).id());
+        assertTrue(results.get(1).error().contains("Category not found"));
+        assertNotNull(results.get(2).id());
+        assertEquals(2, productRepository.count());
+    }
+
+    @Test
+    public void should_createProducts_keepRequestIndexes_whenBatchSpansSeveralChunks() {
+        // Given
+        List<ProductDTO> batch = new ArrayList<>();
+        for (int i = 0; i <= ProductService.CREATE_BATCH_SIZE; i++) {
+            batch.add(ProductDTO.builder()
+                    .productName("Product " + i)
+                    .productPrice(new BigDecimal("1.00"))
+                    .stock_quantity(1)
+                    .build());
+        }
+        batch.set(ProductService.CREATE_BATCH_SIZE, ProductDTO.builder()
+                .productName("Orphan")
+                .productPrice(new BigDecimal("1.00"))
+                .stock_quantity(1)
+                .categoryId(-1L)
+                .build());
+
+        // When
+        ResponseEntity<List<ProductBatchItemResult>> response = restTemplate.exchange(
+                getBaseUrl() + "/batch",
+                HttpMethod.POST,
+                new HttpEntity<>(batch),
+                new ParameterizedTypeReference<List<ProductBatchItemResult>>() {
+                }
+        );
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        List<ProductBatchItemResult> results = response.getBody();
+        assertNotNull(results);
+        assertEquals(ProductService.CREATE_BATCH_SIZE + 1, results.size());
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals(i, results.get(i).index());
+        }
+        assertNull(results.get(ProductService.CREATE_BATCH_SIZE).id());
+        assertTrue(results.get(ProductService.CREATE_BATCH_SIZE).error().contains("Category not found"));
+        assertEquals(ProductService.CREATE_BATCH_SIZE, productRepository.count());
+    }
+
     @Test
     public void should_createCategory_returnCreatedCategory_whenValidInput() {
         // Given
@@ -0,0 +1,130 @@
+package com.example.refactortask.e2e;
+
+import com.example.refactortask.model.entity.Category;
+import com.example.refactortask.model.entity.Product;
+import com.example.refactortask.repository.CategoryRepository;
+import com.example.refactortask.repository.ProductRepository;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Asserts through H2's {@code EXPLAIN} that the catalog queries behind the REST and gRPC read paths are answered
+ * from an index rather than a table scan. The SQL is the statement Hibernate actually generated for the
+ * repository method, captured with a {@link StatementInspector}, explained with the same parameter values.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.example.refactortask.e2e.ProductIndexE2ETest$CapturingStatementInspector")
+@ActiveProfiles("test")
+public class ProductIndexE2ETest {
+
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long categoryId;
+
+    @BeforeEach
+    public void setup() {
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+
+        Category category = new Category();
+        category.setName("Electronics");
+        category.setDescription("Electronic devices");
+        Category savedCategory = categoryRepository.save(category);
+        categoryId = savedCategory.getCategoryId();
+
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            products.add(Product.builder()
+                    .productName("Product " + i)
+                    .productPrice(BigDecimal.valueOf(i))
+                    .stock_quantity(i % 10)
+                    .category(savedCategory)
+                    .build());
+        }
+        productRepository.saveAll(products);
+        jdbcTemplate.execute("ANALYZE TABLE products");
+        CapturingStatementInspector.STATEMENTS.clear();
+    }
+
+    @Test
+    public void should_useCategoryIndex_forProductsByCategory() {
+        // When
+        productRepository.findDtosByCategoryId(categoryId);
+
+        // Then
+        assertUsesIndex(capturedSelect(), "IDX_PRODUCTS_CATEGORY", categoryId);
+    }
+
+    @Test
+    public void should_usePriceIndex_forPriceRange() {
+        // When
+        productRepository.findDtosByPriceLessThan(BigDecimal.valueOf(5));
+
+        // Then
+        assertUsesIndex(capturedSelect(), "IDX_PRODUCTS_PRICE", BigDecimal.valueOf(5));
+    }
+
+    @Test
+    public void should_useInStockIndex_forInStockListing() {
+        // When
+        productRepository.findInStockDtos();
+
+        // Then
+        assertUsesIndex(capturedSelect(), "IDX_PRODUCTS_IN_STOCK");
+    }
+
+    @Test
+    public void should_useInStockIndex_forKeysetPage() {
+        // When
+        productRepository.findInStockDtosAfter(250L, Limit.of(100));
+
+        // Then
+        assertUsesIndex(capturedSelect(), "IDX_PRODUCTS_IN_STOCK", 250L, 100);
+    }
+
+    private String capturedSelect() {
+        List<String> selects = CapturingStatementInspector.STATEMENTS.stream()
+                .filter(sql -> sql.trim().toLowerCase().startsWith("select"))
+                .toList();
+        assertEquals(1, selects.size(), "expected one select, got " + selects);
+        return selects.get(0);
+    }
+
+    private void assertUsesIndex(String sql, String indexName, Object... parameters) {
+        String plan = String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class, parameters));
+        assertTrue(plan.toUpperCase().contains(indexName), "expected " + indexName + " in plan:\n" + plan);
+    }
+
+    /**
+     * Records every statement Hibernate prepares; instantiated by Hibernate from the property above.
+     */
+    public static class CapturingStatementInspector implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
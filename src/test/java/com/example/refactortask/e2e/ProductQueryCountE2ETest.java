@@ -0,0 +1,126 @@
+package com.example.refactortask.e2e;
+
+import com.example.refactortask.model.dto.CategoryDTO;
+import com.example.refactortask.model.dto.ProductDTO;
+import com.example.refactortask.model.entity.Category;
+import com.example.refactortask.model.entity.Product;
+import com.example.refactortask.model.projection.CategoryProductId;
+import com.example.refactortask.repository.CategoryRepository;
+import com.example.refactortask.repository.ProductRepository;
+import com.example.refactortask.service.CategoryService;
+import com.example.refactortask.service.ProductCache;
+import com.example.refactortask.service.ProductService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Guards against N+1 selects: listing N products across M categories must cost a bounded number of
+ * statements, independent of N and M.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+public class ProductQueryCountE2ETest {
+
+    private static final int CATEGORIES = 5;
+    private static final int PRODUCTS_PER_CATEGORY = 20;
+
+    @Autowired
+    private ProductService productService;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private CategoryService categoryService;
+    @Autowired
+    private ProductCache productCache;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private final List<Long> categoryIds = new ArrayList<>();
+
+    @BeforeEach
+    public void setup() {
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+        productCache.invalidateAll();
+        categoryIds.clear();
+
+        List<Product> products = new ArrayList<>();
+        for (int c = 0; c < CATEGORIES; c++) {
+            Category category = new Category();
+            category.setName("Category " + c);
+            category.setDescription("Category number " + c);
+            Category savedCategory = categoryRepository.save(category);
+            categoryIds.add(savedCategory.getCategoryId());
+            for (int p = 0; p < PRODUCTS_PER_CATEGORY; p++) {
+                products.add(Product.builder()
+                        .productName("Product " + c + "-" + p)
+                        .productPrice(new BigDecimal("9.99"))
+                        .stock_quantity(5)
+                        .category(savedCategory)
+                        .build());
+            }
+        }
+        productRepository.saveAll(products);
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    public void should_listProducts_withSingleStatement() {
+        // When
+        List<ProductDTO> products = productService.getAllProducts(false);
+
+        // Then
+        assertEquals(CATEGORIES * PRODUCTS_PER_CATEGORY, products.size());
+        assertEquals(categoryIds.get(0), products.get(0).getCategoryId());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    public void should_pageProducts_withSingleStatementPerPage() {
+        // When
+        productService.getProductPage(null, null, 30);
+
+        // Then
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    public void should_loadProductIdsOfAllCategories_withSingleStatement() {
+        // When
+        List<CategoryProductId> pairs = productRepository.findProductIdsByCategoryIds(categoryIds);
+
+        // Then
+        assertEquals(CATEGORIES * PRODUCTS_PER_CATEGORY, pairs.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void should_listCategoriesWithProductIds_withTwoStatements() {
+        // When
+        List<CategoryDTO> categories = categoryService.getAllCategories();
+
+        // Then
+        assertEquals(CATEGORIES, categories.size());
+        categories.forEach(category -> assertEquals(PRODUCTS_PER_CATEGORY, category.productIds().size()));
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+}
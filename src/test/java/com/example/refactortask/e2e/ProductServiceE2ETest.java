@@ -1,13 +1,19 @@
 package com.example.refactortask.e2e;
 
 import com.example.refactortask.client.FakeStoreApiClient;
+import com.example.refactortask.model.dto.ExternalCatalogSnapshot;
 import com.example.refactortask.model.dto.ExternalProductDTO;
 import com.example.refactortask.model.dto.ProductDTO;
 import com.example.refactortask.model.entity.Category;
 import com.example.refactortask.model.entity.Product;
+import com.example.refactortask.model.entity.SyncRun;
 import com.example.refactortask.repository.CategoryRepository;
 import com.example.refactortask.repository.ProductRepository;
+import com.example.refactortask.service.ProductCache;
 import com.example.refactortask.service.ProductService;
+import com.example.refactortask.service.ProductSyncEngine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -29,6 +35,7 @@ import java.util.concurrent.TimeoutException;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.when;
 
@@ -43,13 +50,20 @@ public class ProductServiceE2ETest {
     @Autowired
     private CategoryRepository categoryRepository;
     @Autowired
+    private ProductCache productCache;
+    @Autowired
     private FakeStoreApiClient fakeStoreApiClient;
+    @Autowired
+    private ProductSyncEngine productSyncEngine;
+    @Autowired
+    private MeterRegistry meterRegistry;
 
     @BeforeEach
     public void setup() {
         // Clean up the database before each test
         productRepository.deleteAll();
         categoryRepository.deleteAll();
+        productCache.invalidateAll();
         Mockito.reset(fakeStoreApiClient);
     }
 
@@ -156,6 +170,58 @@ public class ProductServiceE2ETest {
         assertEquals(savedProduct.getId(), productDTO.getId());
     }
 
+    @Test
+    public void should_getProductById_serveRepeatedReadsFromCache() {
+        // Given
+        Category category = new Category();
+        category.setName("Electronics");
+        category.setDescription("Electronic devices");
+        Category savedCategory = categoryRepository.save(category);
+
+        Product savedProduct = productRepository.save(Product.builder()
+                .productName("Laptop")
+                .description("A powerful laptop")
+                .productPrice(new BigDecimal("999.99"))
+                .stock_quantity(10)
+                .category(savedCategory)
+                .isInStock(true)
+                .build());
+        long hitsBefore = productCache.byIdStats().hitCount();
+
+        // When
+        productService.getProductById(savedProduct.getId());
+        ProductDTO cached = productService.getProductById(savedProduct.getId());
+
+        // Then
+        assertEquals("Laptop", cached.getProductName());
+        assertEquals(hitsBefore + 1, productCache.byIdStats().hitCount());
+    }
+
+    @Test
+    public void should_syncWithFakeApi_dropCachedProduct_whenSyncChangesIt() {
+        // Given
+        Product savedProduct = productRepository.save(Product.builder()
+                .productName("Laptop")
+                .description("A powerful laptop")
+                .productPrice(new BigDecimal("999.99"))
+                .stock_quantity(10)
+                .isInStock(true)
+                .build());
+        assertNull(productService.getProductById(savedProduct.getId()).getImageUrl());
+        when(fakeStoreApiClient.getCatalogSnapshot()).thenReturn(ExternalCatalogSnapshot.of("\"v1\"", false, List.of(
+                new ExternalProductDTO(1, "Laptop", 1099.99, "External laptop description", "electronics",
+                        "http://example.com/laptop.jpg", new ExternalProductDTO.Rating(4.5, 100)))));
+
+        // When
+        SyncRun run = productSyncEngine.run();
+
+        // Then
+        assertEquals(1, run.getRowsChanged());
+        ProductDTO refreshed = productService.getProductById(savedProduct.getId());
+        assertEquals("http://example.com/laptop.jpg", refreshed.getImageUrl());
+        assertEquals("1", refreshed.getExternalId());
+    }
+
     @Test
     public void should_createProduct_returnCreatedProduct_whenValidInput() {
         // Given
@@ -218,7 +284,8 @@ public class ProductServiceE2ETest {
         );
         externalProducts.add(externalProduct);
 
-        when(fakeStoreApiClient.getAllProducts()).thenReturn(externalProducts);
+        when(fakeStoreApiClient.getCatalogSnapshot())
+                .thenReturn(ExternalCatalogSnapshot.of("\"v1\"", false, externalProducts));
 
         // When
         CompletableFuture<Void> future = productService.syncWithFakeApi();
@@ -239,6 +306,156 @@ public class ProductServiceE2ETest {
         // The test might fail if the service doesn't properly update the product with external data
     }
 
+    @Test
+    public void should_syncWithFakeApi_skipUnchangedProducts_onRepeatedSync() {
+        // Given
+        Category category = new Category();
+        category.setName("Electronics");
+        category.setDescription("Electronic devices");
+        Category savedCategory = categoryRepository.save(category);
+
+        productRepository.save(Product.builder()
+                .productName("Laptop")
+                .description("A powerful laptop")
+                .productPrice(new BigDecimal("999.99"))
+                .stock_quantity(10)
+                .category(savedCategory)
+                .isInStock(true)
+                .build());
+        productRepository.save(Product.builder()
+                .productName("Unmatched")
+                .description("Not in the external catalog")
+                .productPrice(new BigDecimal("9.99"))
+                .stock_quantity(5)
+                .category(savedCategory)
+                .isInStock(true)
+                .build());
+
+        ExternalProductDTO externalProduct = new ExternalProductDTO(
+                1,
+                "LAPTOP",
+                1099.99,
+                "External laptop description",
+                "electronics",
+                "http://example.com/laptop.jpg",
+                new ExternalProductDTO.Rating(4.5, 100)
+        );
+        when(fakeStoreApiClient.getCatalogSnapshot())
+                .thenReturn(ExternalCatalogSnapshot.of(null, false, List.of(externalProduct)));
+
+        // When
+        SyncRun firstRun = productSyncEngine.run();
+        SyncRun secondRun = productSyncEngine.run();
+
+        // Then
+        assertEquals(SyncRun.Status.SUCCEEDED, firstRun.getStatus());
+        assertEquals(1, firstRun.getExternalProducts());
+        assertEquals(1, firstRun.getRowsScanned());
+        assertEquals(1, firstRun.getRowsChanged());
+
+        assertEquals(SyncRun.Status.SUCCEEDED, secondRun.getStatus());
+        assertEquals(1, secondRun.getRowsScanned());
+        assertEquals(0, secondRun.getRowsChanged());
+        assertNotNull(secondRun.getDurationMs());
+    }
+
+    @Test
+    public void should_syncWithFakeApi_notMatchGenderedVariants_withDefaultExactMatching() {
+        // Given
+        Product womens = productRepository.save(Product.builder()
+                .productName("Womens Casual Premium Slim Fit T-Shirts")
+                .description("Not the same product")
+                .productPrice(new BigDecimal("22.30"))
+                .stock_quantity(3)
+                .isInStock(true)
+                .build());
+
+        // Trigram Jaccard similarity of the two titles is about 0.9
+        ExternalProductDTO mens = new ExternalProductDTO(
+                1, "Mens Casual Premium Slim Fit T-Shirts", 22.30, "T-shirt", "men's clothing",
+                "http://example.com/tshirt.jpg", new ExternalProductDTO.Rating(4.1, 259));
+        when(fakeStoreApiClient.getCatalogSnapshot())
+                .thenReturn(ExternalCatalogSnapshot.of(null, false, List.of(mens)));
+
+        // When
+        SyncRun run = productSyncEngine.run();
+
+        // Then
+        assertEquals(SyncRun.Status.SUCCEEDED, run.getStatus());
+        assertEquals(0, run.getRowsChanged());
+        assertNull(productRepository.findById(womens.getId()).orElseThrow().getExternalId());
+    }
+
+    @Test
+    public void should_syncWithFakeApi_skipDiffing_whenUpstreamReportsNotModified() {
+        // Given
+        ExternalProductDTO externalProduct = new ExternalProductDTO(
+                1, "Laptop", 1099.99, "External laptop description", "electronics",
+                "http://example.com/laptop.jpg", new ExternalProductDTO.Rating(4.5, 100));
+        when(fakeStoreApiClient.getCatalogSnapshot())
+                .thenReturn(ExternalCatalogSnapshot.of("\"v7\"", false, List.of(externalProduct)))
+                .thenReturn(ExternalCatalogSnapshot.of("\"v7\"", true, List.of(externalProduct)));
+
+        // When
+        SyncRun firstRun = productSyncEngine.run();
+        SyncRun secondRun = productSyncEngine.run();
+
+        // Then
+        assertEquals(SyncRun.Status.SUCCEEDED, firstRun.getStatus());
+        assertEquals(SyncRun.Status.UNCHANGED, secondRun.getStatus());
+        assertEquals("\"v7\"", secondRun.getSourceVersion());
+    }
+
+    @Test
+    public void should_syncWithFakeApi_recordFailedRun_whenUpstreamIsUnavailable() {
+        // Given
+        productRepository.save(Product.builder()
+                .productName("Laptop")
+                .productPrice(new BigDecimal("999.99"))
+                .stock_quantity(10)
+                .isInStock(true)
+                .build());
+        when(fakeStoreApiClient.getCatalogSnapshot())
+                .thenReturn(ExternalCatalogSnapshot.unavailable("503 Service Unavailable"))
+                .thenReturn(ExternalCatalogSnapshot.unavailable("CircuitBreaker 'fakeStore' is OPEN and does not permit further calls"));
+        long failedBefore = syncRuns(SyncRun.Status.FAILED);
+
+        // When
+        SyncRun upstreamError = productSyncEngine.run();
+        SyncRun openCircuit = productSyncEngine.run();
+
+        // Then
+        assertEquals(SyncRun.Status.FAILED, upstreamError.getStatus());
+        assertTrue(upstreamError.getErrorMessage().contains("503 Service Unavailable"));
+        assertEquals(0, upstreamError.getRowsScanned());
+        assertEquals(SyncRun.Status.FAILED, openCircuit.getStatus());
+        assertTrue(openCircuit.getErrorMessage().contains("is OPEN"));
+        assertEquals(failedBefore + 2, syncRuns(SyncRun.Status.FAILED));
+    }
+
+    @Test
+    public void should_syncWithFakeApi_recordRunDuration_taggedWithStatus() {
+        // Given
+        when(fakeStoreApiClient.getCatalogSnapshot())
+                .thenReturn(ExternalCatalogSnapshot.of("\"v8\"", false, List.of()))
+                .thenReturn(ExternalCatalogSnapshot.of("\"v8\"", true, List.of()));
+        long succeededBefore = syncRuns(SyncRun.Status.SUCCEEDED);
+        long unchangedBefore = syncRuns(SyncRun.Status.UNCHANGED);
+
+        // When
+        productSyncEngine.run();
+        productSyncEngine.run();
+
+        // Then
+        assertEquals(succeededBefore + 1, syncRuns(SyncRun.Status.SUCCEEDED));
+        assertEquals(unchangedBefore + 1, syncRuns(SyncRun.Status.UNCHANGED));
+    }
+
+    private long syncRuns(SyncRun.Status status) {
+        Timer timer = meterRegistry.find("product.sync.runs").tag("status", status.name()).timer();
+        return timer != null ? timer.count() : 0;
+    }
+
     @TestConfiguration
     static class TestConfig {
         @Bean
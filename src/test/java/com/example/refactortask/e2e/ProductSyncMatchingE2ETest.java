@@ -0,0 +1,102 @@
+package com.example.refactortask.e2e;
+
+import com.example.refactortask.client.FakeStoreApiClient;
+import com.example.refactortask.model.dto.ExternalCatalogSnapshot;
+import com.example.refactortask.model.dto.ExternalProductDTO;
+import com.example.refactortask.model.entity.Product;
+import com.example.refactortask.model.entity.SyncRun;
+import com.example.refactortask.repository.CategoryRepository;
+import com.example.refactortask.repository.ProductRepository;
+import com.example.refactortask.service.ProductCache;
+import com.example.refactortask.service.ProductSyncEngine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+/**
+ * Sync with the opt-in {@code minhash} title matching strategy; the default {@code exact} strategy is covered by
+ * ProductServiceE2ETest.
+ */
+@SpringBootTest(properties = "product.sync.matching.strategy=minhash")
+@ActiveProfiles("test")
+public class ProductSyncMatchingE2ETest {
+
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private ProductCache productCache;
+    @Autowired
+    private FakeStoreApiClient fakeStoreApiClient;
+    @Autowired
+    private ProductSyncEngine productSyncEngine;
+
+    @BeforeEach
+    public void setup() {
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+        productCache.invalidateAll();
+        Mockito.reset(fakeStoreApiClient);
+    }
+
+    @Test
+    public void should_syncWithFakeApi_matchNearIdenticalTitles() {
+        // Given
+        Product product = productRepository.save(Product.builder()
+                .productName("Fjallraven - Foldsack No. 1 Backpack, Fits 15 Laptops")
+                .description("Everyday backpack")
+                .productPrice(new BigDecimal("109.95"))
+                .stock_quantity(3)
+                .isInStock(true)
+                .build());
+        productRepository.save(Product.builder()
+                .productName("Womens Cotton Jacket")
+                .description("Not the same product")
+                .productPrice(new BigDecimal("55.99"))
+                .stock_quantity(3)
+                .isInStock(true)
+                .build());
+
+        ExternalProductDTO backpack = new ExternalProductDTO(
+                1, "Fjallraven Foldsack No 1 Backpack, Fits 15\" Laptop", 109.95, "Backpack", "men's clothing",
+                "http://example.com/backpack.jpg", new ExternalProductDTO.Rating(3.9, 120));
+        ExternalProductDTO jacket = new ExternalProductDTO(
+                2, "Mens Cotton Jacket", 55.99, "Jacket", "men's clothing",
+                "http://example.com/jacket.jpg", new ExternalProductDTO.Rating(4.7, 500));
+        when(fakeStoreApiClient.getCatalogSnapshot())
+                .thenReturn(ExternalCatalogSnapshot.of(null, false, List.of(backpack, jacket)));
+
+        // When
+        SyncRun run = productSyncEngine.run();
+
+        // Then
+        assertEquals(SyncRun.Status.SUCCEEDED, run.getStatus());
+        assertEquals(1, run.getRowsChanged());
+        Product enriched = productRepository.findById(product.getId()).orElseThrow();
+        assertEquals("1", enriched.getExternalId());
+        assertEquals("http://example.com/backpack.jpg", enriched.getImageUrl());
+        assertEquals(1, productRepository.findAll().stream().filter(p -> p.getExternalId() != null).count());
+    }
+
+    @TestConfiguration
+    static class TestConfig {
+        @Bean
+        @Primary
+        public FakeStoreApiClient fakeStoreApiClient() {
+            return Mockito.mock(FakeStoreApiClient.class);
+        }
+    }
+}
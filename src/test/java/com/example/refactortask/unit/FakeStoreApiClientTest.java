@@ -0,0 +1,334 @@
+package com.example.refactortask.unit;
+
+import com.example.refactortask.client.FakeStoreApiClient;
+import com.example.refactortask.client.FakeStoreResilience;
+import com.example.refactortask.client.FakeStoreResponseCache;
+import com.example.refactortask.model.dto.ExternalCatalogSnapshot;
+import com.example.refactortask.model.dto.ExternalProductBatchResult;
+import com.example.refactortask.model.dto.ExternalProductDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.core.IntervalFunction;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.file.Path;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class FakeStoreApiClientTest {
+
+    private HttpServer server;
+    private FakeStoreApiClient client;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private final AtomicInteger listCalls = new AtomicInteger();
+    private final AtomicInteger flakyCalls = new AtomicInteger();
+    private final AtomicInteger catalogDownloads = new AtomicInteger();
+    private final CountDownLatch heldCalls = new CountDownLatch(1);
+    private CircuitBreaker circuitBreaker;
+    private SimpleMeterRegistry meterRegistry;
+
+    @TempDir
+    Path cacheDir;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/products/", this::handleProduct);
+        server.createContext("/products", this::handleBrokenList);
+        server.createContext("/etag/products", this::handleCatalogWithEtag);
+        server.start();
+
+        circuitBreaker = CircuitBreaker.of("test", CircuitBreakerConfig.custom()
+                .slidingWindowSize(4)
+                .minimumNumberOfCalls(4)
+                .failureRateThreshold(50)
+                .waitDurationInOpenState(Duration.ofMinutes(1))
+                .ignoreExceptions(HttpClientErrorException.class)
+                .build());
+        Retry retry = Retry.of("test", RetryConfig.custom()
+                .maxAttempts(3)
+                .intervalFunction(IntervalFunction.ofExponentialRandomBackoff(Duration.ofMillis(10), 2.0, 0.5))
+                .retryExceptions(ResourceAccessException.class, HttpServerErrorException.class)
+                .build());
+        Bulkhead bulkhead = Bulkhead.of("test", BulkheadConfig.custom()
+                .maxConcurrentCalls(10)
+                .build());
+
+        meterRegistry = new SimpleMeterRegistry();
+        client = new FakeStoreApiClient(new RestTemplate(), new FakeStoreResilience(circuitBreaker, retry, bulkhead),
+                new FakeStoreResponseCache(cacheDir.toString()), new ObjectMapper(), meterRegistry);
+        ReflectionTestUtils.setField(client, "apiBaseUrl", "http://localhost:" + server.getAddress().getPort());
+        ReflectionTestUtils.setField(client, "enrichmentConcurrency", 2);
+        ReflectionTestUtils.setField(client, "enrichmentCallDeadline", Duration.ofMillis(500));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        heldCalls.countDown();
+        server.stop(0);
+    }
+
+    @Test
+    public void should_getProductsByIds_returnPartialResultsAndFailures() {
+        // When
+        ExternalProductBatchResult result = client.getProductsByIds(List.of(1, 2, 3, 404, 999));
+
+        // Then
+        assertEquals(3, result.products().size());
+        assertEquals("Product 2", result.products().get(2).getTitle());
+        assertEquals(2, result.failures().size());
+        assertTrue(result.failures().containsKey(404));
+        assertInstanceOf(TimeoutException.class, result.failures().get(999));
+    }
+
+    @Test
+    public void should_getProductsByIds_returnWithinDeadline_whenCallsHangAndOthersQueueBehindThem() {
+        // Given: two permits, four hanging ids, so two of them wait for a permit the whole time
+        long start = System.nanoTime();
+
+        // When
+        ExternalProductBatchResult result = client.getProductsByIds(List.of(996, 997, 998, 999));
+
+        // Then
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        assertTrue(elapsedMillis < 800, "a 500 ms deadline bounds the batch, took " + elapsedMillis + " ms");
+        assertEquals(4, result.failures().size());
+        result.failures().values().forEach(failure -> assertInstanceOf(TimeoutException.class, failure));
+    }
+
+    @Test
+    public void should_getProductsByIds_notRetry_withinDeadline() {
+        // When
+        ExternalProductBatchResult result = client.getProductsByIds(List.of(500));
+
+        // Then
+        assertInstanceOf(HttpServerErrorException.class, result.failures().get(500));
+        assertEquals(1, flakyCalls.get());
+    }
+
+    @Test
+    public void should_getProductsByIds_respectConcurrencyLimit() {
+        // When
+        ExternalProductBatchResult result = client.getProductsByIds(List.of(1, 2, 3, 4, 5, 6, 7, 8));
+
+        // Then
+        assertEquals(8, result.products().size());
+        assertTrue(maxInFlight.get() <= 2, "at most 2 concurrent calls, saw " + maxInFlight.get());
+    }
+
+    @Test
+    public void should_getProductById_keepCircuitClosed_whenBulkheadIsFull() throws Exception {
+        // Given
+        ExecutorService callers = Executors.newFixedThreadPool(10);
+        List<Future<Optional<ExternalProductDTO>>> held = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            held.add(callers.submit(() -> client.getProductById(777)));
+        }
+        long waitUntil = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (inFlight.get() < 10 && System.nanoTime() < waitUntil) {
+            Thread.sleep(10);
+        }
+        assertEquals(10, inFlight.get(), "the bulkhead's ten permits are held by upstream calls");
+
+        // When
+        for (int i = 0; i < 10; i++) {
+            assertTrue(client.getProductById(1).isEmpty());
+        }
+        heldCalls.countDown();
+
+        // Then
+        for (Future<Optional<ExternalProductDTO>> call : held) {
+            assertTrue(call.get(5, TimeUnit.SECONDS).isPresent());
+        }
+        callers.shutdown();
+        assertEquals(10, requests("product", "rejected").count());
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertEquals(0, circuitBreaker.getMetrics().getNumberOfFailedCalls());
+    }
+
+    @Test
+    public void should_getProductById_retryTransientServerErrors() {
+        // When
+        Optional<ExternalProductDTO> product = client.getProductById(500);
+
+        // Then
+        assertTrue(product.isPresent());
+        assertEquals(3, flakyCalls.get());
+    }
+
+    @Test
+    public void should_getAllProducts_openCircuitAndStopCallingUpstream_whenUpstreamKeepsFailing() {
+        // When
+        for (int i = 0; i < 10; i++) {
+            assertTrue(client.getAllProducts().isEmpty());
+        }
+
+        // Then
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        // Three attempts of the first call plus the first attempt of the second fill the window of four;
+        // after that every call is rejected locally without reaching the upstream
+        assertEquals(4, listCalls.get());
+    }
+
+    @Test
+    public void should_getAllProducts_recordFailedAndRejectedCalls() {
+        // When
+        for (int i = 0; i < 10; i++) {
+            client.getAllProducts();
+        }
+
+        // Then
+        long errors = requests("products", "error").count();
+        long rejected = requests("products", "rejected").count();
+        assertEquals(10, errors + rejected);
+        assertTrue(errors >= 1, "the calls that reached the upstream fail, saw " + errors);
+        assertTrue(rejected >= 8, "calls after the circuit opened are rejected, saw " + rejected);
+    }
+
+    @Test
+    public void should_getProductById_recordOneSuccessfulCall_includingRetries() {
+        // When
+        client.getProductById(500);
+
+        // Then
+        assertEquals(1, requests("product", "success").count());
+        assertEquals(3, flakyCalls.get());
+        assertTrue(meterRegistry.find("fakestore.client.requests").tag("outcome", "error").timers().isEmpty());
+    }
+
+    @Test
+    public void should_getCatalogSnapshot_reuseCachedBody_whenUpstreamAnswersNotModified() {
+        // Given
+        ReflectionTestUtils.setField(client, "apiBaseUrl", "http://localhost:" + server.getAddress().getPort() + "/etag");
+
+        // When
+        ExternalCatalogSnapshot first = client.getCatalogSnapshot();
+        ExternalCatalogSnapshot second = client.getCatalogSnapshot();
+
+        // Then
+        assertFalse(first.notModified());
+        assertEquals("\"catalog-v1\"", first.version());
+
+        assertTrue(second.notModified());
+        assertEquals("\"catalog-v1\"", second.version());
+        List<ExternalProductDTO> cachedProducts = new ArrayList<>();
+        second.products().forEach(cachedProducts::add);
+        assertEquals(2, cachedProducts.size());
+        assertEquals("Cached", cachedProducts.get(0).getTitle());
+        assertEquals("Streamed", cachedProducts.get(1).getTitle());
+        assertEquals(1, catalogDownloads.get());
+    }
+
+    private Timer requests(String operation, String outcome) {
+        return meterRegistry.get("fakestore.client.requests")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .timer();
+    }
+
+    private void handleCatalogWithEtag(HttpExchange exchange) throws IOException {
+        String etag = "\"catalog-v1\"";
+        exchange.getResponseHeaders().add("ETag", etag);
+        if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+            exchange.sendResponseHeaders(304, -1);
+            exchange.close();
+            return;
+        }
+        catalogDownloads.incrementAndGet();
+        // Includes fields ExternalProductDTO does not declare, as a newer upstream schema would
+        byte[] body = ("[{\"id\":1,\"title\":\"Cached\",\"price\":1.0,\"rating\":{\"rate\":4.1,\"count\":7,\"trend\":\"up\"}},"
+                + "null,"
+                + "{\"id\":2,\"title\":\"Streamed\",\"price\":2.0,\"sku\":\"FS-2\"}]").getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+        exchange.close();
+    }
+
+    private void handleBrokenList(HttpExchange exchange) throws IOException {
+        listCalls.incrementAndGet();
+        exchange.sendResponseHeaders(503, -1);
+        exchange.close();
+    }
+
+    private void handleProduct(HttpExchange exchange) throws IOException {
+        int current = inFlight.incrementAndGet();
+        maxInFlight.accumulateAndGet(current, Math::max);
+        try {
+            String id = exchange.getRequestURI().getPath().substring("/products/".length());
+            if ("404".equals(id)) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+            if ("500".equals(id) && flakyCalls.incrementAndGet() < 3) {
+                exchange.sendResponseHeaders(503, -1);
+                return;
+            }
+            if ("777".equals(id)) {
+                heldCalls.await(5, TimeUnit.SECONDS);
+            }
+            sleep(id.startsWith("99") ? 5_000 : 50);
+            byte[] body = ("{\"id\":" + id + ",\"title\":\"Product " + id + "\",\"price\":1.0}")
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } catch (IOException e) {
+            // client gave up on the call
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            inFlight.decrementAndGet();
+            exchange.close();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
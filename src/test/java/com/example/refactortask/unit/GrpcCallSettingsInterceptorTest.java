@@ -0,0 +1,151 @@
+package com.example.refactortask.unit;
+
+import com.example.refactortask.config.GrpcCallProperties;
+import com.example.refactortask.grpc.CreateProductRequest;
+import com.example.refactortask.grpc.GrpcCallSettingsInterceptor;
+import com.example.refactortask.grpc.ListProductsRequest;
+import com.example.refactortask.grpc.ListProductsResponse;
+import com.example.refactortask.grpc.ProductRequest;
+import com.example.refactortask.grpc.ProductResponse;
+import com.example.refactortask.grpc.ProductServiceGrpc;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.ServerInterceptors;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class GrpcCallSettingsInterceptorTest {
+
+    private static final String LIST_PRODUCTS = "com.example.refactortask.ProductService/ListProducts";
+    private static final String CREATE_PRODUCT = "com.example.refactortask.ProductService/CreateProduct";
+
+    private Server server;
+    private ManagedChannel channel;
+    private ProductServiceGrpc.ProductServiceBlockingStub blockingStub;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        GrpcCallProperties properties = new GrpcCallProperties(
+                new GrpcCallProperties.MethodSettings(null, null, DataSize.ofKilobytes(1)),
+                Map.of(
+                        LIST_PRODUCTS, new GrpcCallProperties.MethodSettings("gzip", null, null),
+                        CREATE_PRODUCT, new GrpcCallProperties.MethodSettings(null, DataSize.ofBytes(32), null)));
+
+        String serverName = InProcessServerBuilder.generateName();
+        server = InProcessServerBuilder.forName(serverName)
+                .directExecutor()
+                .addService(ServerInterceptors.intercept(new FixtureProductService(),
+                        new GrpcCallSettingsInterceptor(properties)))
+                .build()
+                .start();
+        channel = InProcessChannelBuilder.forName(serverName).directExecutor().build();
+        blockingStub = ProductServiceGrpc.newBlockingStub(channel);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        channel.shutdownNow();
+        server.shutdownNow();
+    }
+
+    @Test
+    public void should_mergeMethodSettings_overDefaults() {
+        // Given
+        GrpcCallProperties properties = new GrpcCallProperties(
+                new GrpcCallProperties.MethodSettings("identity", DataSize.ofMegabytes(1), DataSize.ofMegabytes(4)),
+                Map.of(LIST_PRODUCTS, new GrpcCallProperties.MethodSettings("gzip", null, null)));
+
+        // When
+        GrpcCallProperties.MethodSettings settings = properties.forMethod(LIST_PRODUCTS);
+
+        // Then
+        assertEquals("gzip", settings.compression());
+        assertEquals(DataSize.ofMegabytes(1), settings.maxInboundMessageSize());
+        assertEquals(DataSize.ofMegabytes(4), settings.maxOutboundMessageSize());
+        assertEquals("identity", properties.forMethod(CREATE_PRODUCT).compression());
+    }
+
+    @Test
+    public void should_fail_whenCompressionIsNotRegistered() {
+        // When & Then
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> new GrpcCallProperties.MethodSettings("gzipp", null, null));
+        assertEquals("Unknown gRPC compression: gzipp", exception.getMessage());
+    }
+
+    @Test
+    public void should_sendResponse_whenWithinOutboundLimit() {
+        // When
+        ProductResponse response = blockingStub.getProduct(ProductRequest.newBuilder().setId(1).build());
+
+        // Then
+        assertEquals(1, response.getId());
+    }
+
+    @Test
+    public void should_fail_withResourceExhausted_whenResponseExceedsOutboundLimit() {
+        // When & Then
+        StatusRuntimeException exception = assertThrows(StatusRuntimeException.class,
+                () -> blockingStub.listProducts(ListProductsRequest.getDefaultInstance()));
+        assertEquals(Status.RESOURCE_EXHAUSTED.getCode(), exception.getStatus().getCode());
+    }
+
+    @Test
+    public void should_fail_withResourceExhausted_whenRequestExceedsInboundLimit() {
+        // Given
+        CreateProductRequest request = CreateProductRequest.newBuilder()
+                .setProductName("A product name that is longer than thirty-two bytes")
+                .build();
+
+        // When & Then
+        StatusRuntimeException exception = assertThrows(StatusRuntimeException.class,
+                () -> blockingStub.createProduct(request));
+        assertEquals(Status.RESOURCE_EXHAUSTED.getCode(), exception.getStatus().getCode());
+    }
+
+    private static final class FixtureProductService extends ProductServiceGrpc.ProductServiceImplBase {
+
+        @Override
+        public void getProduct(ProductRequest request, StreamObserver<ProductResponse> responseObserver) {
+            responseObserver.onNext(product(request.getId()));
+            responseObserver.onCompleted();
+        }
+
+        @Override
+        public void listProducts(ListProductsRequest request, StreamObserver<ListProductsResponse> responseObserver) {
+            ListProductsResponse.Builder response = ListProductsResponse.newBuilder();
+            for (int i = 1; i <= 100; i++) {
+                response.addProducts(product(i));
+            }
+            responseObserver.onNext(response.build());
+            responseObserver.onCompleted();
+        }
+
+        @Override
+        public void createProduct(CreateProductRequest request, StreamObserver<ProductResponse> responseObserver) {
+            responseObserver.onNext(product(1));
+            responseObserver.onCompleted();
+        }
+
+        private static ProductResponse product(long id) {
+            return ProductResponse.newBuilder()
+                    .setId(id)
+                    .setProductName("Product " + id)
+                    .setProductPrice(9.99)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.refactortask.unit;
+
+import com.example.refactortask.service.MinHashTitleMatcher;
+import com.example.refactortask.service.TitleMatcher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MinHashTitleMatcherTest {
+
+    private MinHashTitleMatcher matcher;
+
+    @BeforeEach
+    public void setup() {
+        matcher = new MinHashTitleMatcher(0.85);
+        matcher.add(1L, "Mens Casual Premium Slim Fit T-Shirts");
+        matcher.add(2L, "Fjallraven - Foldsack No. 1 Backpack, Fits 15 Laptops");
+        matcher.add(3L, "Mens Cotton Jacket");
+        matcher.add(4L, "mens cotton JACKET!");
+    }
+
+    @Test
+    public void should_matchNearIdenticalTitles() {
+        // When
+        Optional<TitleMatcher.Match> match = matcher.bestMatch("Fjallraven Foldsack No 1 Backpack, Fits 15\" Laptop");
+
+        // Then
+        assertTrue(match.isPresent());
+        assertEquals(List.of(2L), match.get().productIds());
+        assertTrue(match.get().score() >= 0.85 && match.get().score() < 1.0);
+    }
+
+    @Test
+    public void should_returnEveryProduct_whenNormalizedTitlesAreEqual() {
+        // When
+        Optional<TitleMatcher.Match> match = matcher.bestMatch("MENS COTTON JACKET");
+
+        // Then
+        assertTrue(match.isPresent());
+        assertEquals(List.of(3L, 4L), match.get().productIds());
+        assertEquals(1.0, match.get().score());
+    }
+
+    @Test
+    public void should_notMatch_whenSimilarityIsBelowThreshold() {
+        // When
+        Optional<TitleMatcher.Match> womens = matcher.bestMatch("Womens Cotton Jacket");
+        Optional<TitleMatcher.Match> unrelated = matcher.bestMatch("Solid Gold Petite Micropave");
+
+        // Then
+        assertTrue(womens.isEmpty());
+        assertTrue(unrelated.isEmpty());
+    }
+
+    @Test
+    public void should_findTheRightTitle_amongManySimilarOnes() {
+        // Given
+        MinHashTitleMatcher large = new MinHashTitleMatcher(0.85);
+        String[] words = {"mens", "womens", "cotton", "jacket", "slim", "fit", "backpack", "gold", "ring", "drive"};
+        Random random = new Random(42);
+        List<String> titles = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            List<String> shuffled = new ArrayList<>(List.of(words));
+            Collections.shuffle(shuffled, random);
+            String title = String.join(" ", shuffled.get(0), shuffled.get(1), shuffled.get(2), "model " + i);
+            titles.add(title);
+            large.add(i, title);
+        }
+
+        // When
+        int matched = 0;
+        for (int i = 0; i < titles.size(); i++) {
+            Optional<TitleMatcher.Match> match = large.bestMatch(titles.get(i) + "s");
+            if (match.isPresent() && match.get().productIds().equals(List.of((long) i))) {
+                matched++;
+            }
+        }
+
+        // Then
+        assertEquals(titles.size(), matched);
+    }
+
+    @Test
+    public void should_ignoreBlankTitles() {
+        // When
+        matcher.add(5L, " - ");
+
+        // Then
+        assertTrue(matcher.bestMatch("").isEmpty());
+        assertTrue(matcher.bestMatch(null).isEmpty());
+    }
+
+    @Test
+    public void should_rejectThresholdOutsideUnitInterval() {
+        assertThrows(IllegalArgumentException.class, () -> new MinHashTitleMatcher(0));
+        assertThrows(IllegalArgumentException.class, () -> new MinHashTitleMatcher(1.5));
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.refactortask.unit;
+
+import com.example.refactortask.grpc.ListProductsResponse;
+import com.example.refactortask.grpc.PreEncodedProductMarshallers;
+import com.example.refactortask.grpc.ProductResponse;
+import com.example.refactortask.grpc.ProductResponseCache;
+import com.example.refactortask.model.dto.ProductDTO;
+import io.grpc.Drainable;
+import io.grpc.MethodDescriptor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class PreEncodedProductMarshallersTest {
+
+    private static final LocalDateTime UPDATED_AT = LocalDateTime.of(2024, 5, 1, 12, 0);
+
+    private ProductResponseCache cache;
+    private PreEncodedProductMarshallers marshallers;
+    private AtomicInteger builds;
+
+    @BeforeEach
+    public void setup() {
+        cache = new ProductResponseCache(true, 100);
+        marshallers = new PreEncodedProductMarshallers(cache);
+        builds = new AtomicInteger();
+    }
+
+    @Test
+    public void should_reuseCachedResponse_untilUpdatedAtChanges() {
+        // When
+        ProductResponse first = cache.get(product(1L, UPDATED_AT), this::build);
+        ProductResponse second = cache.get(product(1L, UPDATED_AT), this::build);
+        ProductResponse updated = cache.get(product(1L, UPDATED_AT.plusSeconds(1)), this::build);
+
+        // Then
+        assertSame(first, second);
+        assertNotSame(first, updated);
+        assertEquals(2, builds.get());
+    }
+
+    @Test
+    public void should_writeCachedProduct_withSameBytesAsProtobuf() throws IOException {
+        // Given
+        ProductResponse cached = cache.get(product(1L, UPDATED_AT), this::build);
+
+        // When
+        byte[] drained = drain(marshallers.productResponseMarshaller().stream(cached));
+        byte[] read = marshallers.productResponseMarshaller().stream(cached).readAllBytes();
+
+        // Then
+        assertArrayEquals(cached.toByteArray(), drained);
+        assertArrayEquals(cached.toByteArray(), read);
+    }
+
+    @Test
+    public void should_writeListMixingCachedAndUncachedProducts_withSameBytesAsProtobuf() throws IOException {
+        // Given
+        ListProductsResponse response = ListProductsResponse.newBuilder()
+                .addProducts(cache.get(product(1L, UPDATED_AT), this::build))
+                .addProducts(build(product(2L, null)))
+                .addProducts(cache.get(product(3L, UPDATED_AT), this::build))
+                .setNextPageToken("cDE6Mw")
+                .build();
+        MethodDescriptor.Marshaller<ListProductsResponse> marshaller = marshallers.listProductsResponseMarshaller();
+
+        // When
+        byte[] drained = drain(marshaller.stream(response));
+
+        // Then
+        assertArrayEquals(response.toByteArray(), drained);
+        assertEquals(response, marshaller.parse(marshaller.stream(response)));
+    }
+
+    private static byte[] drain(InputStream stream) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int written = ((Drainable) stream).drainTo(out);
+        assertEquals(out.size(), written);
+        return out.toByteArray();
+    }
+
+    private ProductResponse build(ProductDTO productDTO) {
+        builds.incrementAndGet();
+        return ProductResponse.newBuilder()
+                .setId(productDTO.getId())
+                .setProductName(productDTO.getProductName())
+                .setProductPrice(19.99)
+                .setStockQuantity(3)
+                .setIsInStock(true)
+                .build();
+    }
+
+    private static ProductDTO product(Long id, LocalDateTime updatedAt) {
+        return ProductDTO.builder()
+                .id(id)
+                .productName("Product " + id)
+                .updatedAt(updatedAt)
+                .build();
+    }
+}
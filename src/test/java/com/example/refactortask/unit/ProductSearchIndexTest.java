@@ -0,0 +1,100 @@
+package com.example.refactortask.unit;
+
+import com.example.refactortask.service.ProductSearchIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ProductSearchIndexTest {
+
+    private ProductSearchIndex index;
+
+    @BeforeEach
+    public void setup() {
+        index = new ProductSearchIndex();
+        index.index(1L, "Gaming Laptop", "Fast laptop for games");
+        index.index(2L, "Laptop Sleeve", "Neoprene sleeve");
+        index.index(3L, "Wireless Mouse", "Works with any laptop");
+        index.index(4L, "Mechanical Keyboard", "RGB, wireless");
+    }
+
+    @Test
+    public void should_rankNameMatchesAboveDescriptionMatches() {
+        // When
+        List<Long> ids = ids(index.search("laptop", 10));
+
+        // Then
+        assertEquals(List.of(1L, 2L, 3L), ids);
+    }
+
+    @Test
+    public void should_matchPrefixes_caseInsensitively() {
+        // When
+        List<Long> ids = ids(index.search("WIRE", 10));
+
+        // Then
+        assertEquals(List.of(3L, 4L), ids);
+    }
+
+    @Test
+    public void should_matchShortTokensOnlyExactly() {
+        // Given
+        index.index(5L, "LA Cap", "Baseball cap");
+
+        // When
+        List<Long> ids = ids(index.search("la", 10));
+        List<Long> prefixIds = ids(index.search("lap", 10));
+
+        // Then
+        assertEquals(List.of(5L), ids);
+        assertEquals(List.of(1L, 2L, 3L), prefixIds);
+        assertTrue(index.search("w", 10).isEmpty());
+    }
+
+    @Test
+    public void should_requireEveryQueryWord() {
+        // When
+        List<Long> ids = ids(index.search("wireless mouse", 10));
+
+        // Then
+        assertEquals(List.of(3L), ids);
+    }
+
+    @Test
+    public void should_returnOnlyTheBestHits_whenLimited() {
+        // When
+        List<Long> ids = ids(index.search("laptop", 2));
+
+        // Then
+        assertEquals(List.of(1L, 2L), ids);
+    }
+
+    @Test
+    public void should_replaceTerms_whenProductIsReindexed() {
+        // When
+        index.index(2L, "Tablet Sleeve", "Neoprene sleeve");
+
+        // Then
+        assertEquals(List.of(1L, 3L), ids(index.search("laptop", 10)));
+        assertEquals(List.of(2L), ids(index.search("tablet", 10)));
+    }
+
+    @Test
+    public void should_forgetRemovedProducts() {
+        // When
+        index.remove(1L);
+
+        // Then
+        assertEquals(List.of(2L, 3L), ids(index.search("laptop", 10)));
+        assertTrue(index.search("gaming", 10).isEmpty());
+        assertEquals(3, index.size());
+    }
+
+    private static List<Long> ids(List<ProductSearchIndex.SearchHit> hits) {
+        return hits.stream().map(ProductSearchIndex.SearchHit::productId).toList();
+    }
+}